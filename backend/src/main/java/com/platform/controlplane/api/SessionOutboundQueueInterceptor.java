@@ -0,0 +1,144 @@
+package com.platform.controlplane.api;
+
+import com.platform.controlplane.observability.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-session bounded outbound queues for STOMP broadcasts.
+ *
+ * The broker converts each broadcast payload once, but StompSubProtocolHandler
+ * still encodes a frame per session: every MESSAGE frame carries that
+ * session's subscription id and message-id, so no frame can be shared. This
+ * interceptor leaves the encoding alone and makes sure a slow session cannot
+ * pile those messages up.
+ *
+ * Features:
+ * - At most one message per session in flight on the client outbound
+ *   channel, so Spring's 512KB per-session send buffer never fills
+ * - Bounded per-session queue behind it; the oldest message is dropped
+ *   when a slow consumer falls too far behind
+ * - Latest-wins coalescing for configured destinations (health deltas:
+ *   the client sees the sequence gap and resyncs from a snapshot)
+ * - Non-MESSAGE frames (CONNECTED, RECEIPT, ERROR, heartbeats) pass through
+ */
+@Slf4j
+@Component
+public class SessionOutboundQueueInterceptor implements ExecutorChannelInterceptor {
+    
+    private final MetricsRegistry metricsRegistry;
+    private final Map<String, SessionQueue> queues = new ConcurrentHashMap<>();
+    
+    @Value("${controlplane.websocket.outbound.queue-capacity:32}")
+    private int queueCapacity;
+    
+    private final Set<String> coalesceDestinations;
+    
+    public SessionOutboundQueueInterceptor(
+            MetricsRegistry metricsRegistry,
+            @Value("${controlplane.websocket.outbound.coalesce-destinations:/topic/health}") String coalesceDestinations) {
+        this.metricsRegistry = metricsRegistry;
+        this.coalesceDestinations = Arrays.stream(coalesceDestinations.split(","))
+            .map(String::trim)
+            .filter(destination -> !destination.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+    
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        
+        SessionQueue queue = queues.computeIfAbsent(sessionId, id -> new SessionQueue());
+        synchronized (queue) {
+            if (message == queue.inFlight) {
+                // Released from the queue by afterMessageHandled
+                return message;
+            }
+            if (queue.inFlight == null) {
+                queue.inFlight = message;
+                return message;
+            }
+            enqueue(sessionId, queue, message);
+            return null;
+        }
+    }
+    
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return;
+        }
+        SessionQueue queue = queues.get(sessionId);
+        if (queue == null) {
+            return;
+        }
+        
+        Message<?> next;
+        synchronized (queue) {
+            if (message != queue.inFlight) {
+                return;
+            }
+            next = queue.pending.pollFirst();
+            queue.inFlight = next;
+        }
+        if (next != null) {
+            channel.send(next);
+        }
+    }
+    
+    /**
+     * Drop a session's queue once it disconnects.
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        queues.remove(event.getSessionId());
+    }
+    
+    private void enqueue(String sessionId, SessionQueue queue, Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        
+        if (destination != null && coalesceDestinations.contains(destination)) {
+            Iterator<Message<?>> queued = queue.pending.iterator();
+            while (queued.hasNext()) {
+                if (destination.equals(SimpMessageHeaderAccessor.getDestination(queued.next().getHeaders()))) {
+                    queued.remove();
+                    metricsRegistry.incrementCounter("websocket.outbound.dropped", "reason", "coalesced");
+                }
+            }
+        }
+        
+        if (queue.pending.size() >= queueCapacity) {
+            queue.pending.pollFirst();
+            metricsRegistry.incrementCounter("websocket.outbound.dropped", "reason", "overflow");
+            log.debug("Session {} is a slow consumer, dropped oldest queued message", sessionId);
+        }
+        queue.pending.addLast(message);
+    }
+    
+    private static final class SessionQueue {
+        private final Deque<Message<?>> pending = new ArrayDeque<>();
+        private Message<?> inFlight;
+    }
+}
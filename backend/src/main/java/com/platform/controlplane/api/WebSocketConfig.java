@@ -3,7 +3,9 @@ package com.platform.controlplane.api;
 import com.platform.controlplane.error.WebSocketExceptionHandler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -19,17 +21,53 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${CORS_ALLOWED_ORIGINS:*}")
     private String allowedOrigins;
     
+    @Value("${controlplane.websocket.broker.mode:simple}")
+    private String brokerMode;
+    
+    @Value("${controlplane.websocket.broker.relay.host:localhost}")
+    private String relayHost;
+    
+    @Value("${controlplane.websocket.broker.relay.port:61613}")
+    private int relayPort;
+    
+    @Value("${controlplane.websocket.broker.relay.login:guest}")
+    private String relayLogin;
+    
+    @Value("${controlplane.websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+    
+    @Value("${controlplane.websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+    
     private final WebSocketExceptionHandler webSocketExceptionHandler;
+    private final SessionOutboundQueueInterceptor sessionOutboundQueueInterceptor;
     
-    public WebSocketConfig(WebSocketExceptionHandler webSocketExceptionHandler) {
+    public WebSocketConfig(WebSocketExceptionHandler webSocketExceptionHandler,
+                           SessionOutboundQueueInterceptor sessionOutboundQueueInterceptor) {
         this.webSocketExceptionHandler = webSocketExceptionHandler;
+        this.sessionOutboundQueueInterceptor = sessionOutboundQueueInterceptor;
     }
     
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple in-memory message broker
-        // Clients subscribe to /topic/* destinations
-        config.enableSimpleBroker("/topic");
+        // Clients subscribe to /topic/* destinations, and to /user/queue/* for replies
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // External STOMP broker shared by all replicas: whatever one replica
+            // publishes reaches the sessions of every replica
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // Simple in-memory broker, serving this replica's sessions only
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         
         // Application destination prefix for messages from clients
         config.setApplicationDestinationPrefixes("/app");
@@ -51,6 +89,12 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.setErrorHandler(webSocketExceptionHandler);
     }
     
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Bounded per-session queues with slow-consumer drop/coalesce policy
+        registration.interceptors(sessionOutboundQueueInterceptor);
+    }
+    
     @Override
     public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
         // Configure transport settings
@@ -1,11 +1,13 @@
 package com.platform.controlplane.api;
 
+import com.platform.controlplane.core.HealthStreamPublisher;
 import com.platform.controlplane.core.OrchestratorService;
-import com.platform.controlplane.model.SystemHealth;
+import com.platform.controlplane.model.HealthUpdate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 /**
@@ -17,25 +19,37 @@ import org.springframework.stereotype.Controller;
 public class WebSocketController {
     
     private final OrchestratorService orchestratorService;
+    private final HealthStreamPublisher healthStreamPublisher;
+    
+    /**
+     * Full health snapshot, sent once to the subscribing session.
+     * Clients subscribe here on connect and again to resync after a gap
+     * in the /topic/health delta sequence.
+     */
+    @SubscribeMapping("/health/snapshot")
+    public HealthUpdate subscribeHealth() {
+        log.debug("WebSocket: Client subscribed to health snapshot");
+        return healthStreamPublisher.snapshot();
+    }
     
     /**
      * Handle client request for current health status.
+     * Replied to the requesting session only, never broadcast.
      */
     @MessageMapping("/health")
-    @SendTo("/topic/health")
-    public SystemHealth requestHealth() {
+    @SendToUser(destinations = "/queue/health", broadcast = false)
+    public HealthUpdate requestHealth() {
         log.debug("WebSocket: Client requested health status");
-        return orchestratorService.getSystemHealth();
+        return healthStreamPublisher.snapshot();
     }
     
     /**
      * Handle client request for topology refresh.
+     * Resulting changes reach every client as a delta on /topic/health.
      */
     @MessageMapping("/refresh")
-    @SendTo("/topic/health")
-    public SystemHealth requestRefresh() {
+    public void requestRefresh() {
         log.debug("WebSocket: Client requested topology refresh");
         orchestratorService.forceTopologyRefresh();
-        return orchestratorService.getSystemHealth();
     }
 }
@@ -35,9 +35,10 @@ public class ChaosRepository {
     
     /**
      * Find experiment by ID.
+     * Read on the primary: stopping an experiment must see its current status.
      */
     public Optional<ChaosExperiment> findById(String id) {
-        return jpaRepository.findById(id)
+        return jpaRepository.findFreshById(id)
             .map(entityMappers::toDomain);
     }
     
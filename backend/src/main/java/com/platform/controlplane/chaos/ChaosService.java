@@ -5,6 +5,7 @@ import com.platform.controlplane.recovery.StartupRecoveryService;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -163,7 +164,9 @@ public class ChaosService {
     
     /**
      * Get all experiments.
+     * Read-only, so it may be served by the read replica.
      */
+    @Transactional(readOnly = true)
     public List<ChaosExperiment> getAllExperiments() {
         return chaosRepository.findAll();
     }
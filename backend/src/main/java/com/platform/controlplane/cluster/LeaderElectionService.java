@@ -0,0 +1,297 @@
+package com.platform.controlplane.cluster;
+
+import com.platform.controlplane.error.StaleLeaderException;
+import com.platform.controlplane.model.LeadershipChange;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster leader election over a lease row in MySQL (leader_lease), plus
+ * replica membership (controlplane_member) for sharding work.
+ * 
+ * Singleton loops (policy evaluation, reconciliation, outbox maintenance,
+ * failure event emission) run only while isLeader(); partitioned work such
+ * as outbox draining is split between the live members with ownsShard().
+ * 
+ * Features:
+ * - One atomic upsert per renewal acquires, renews or takes over an
+ *   expired lease; expiry is judged by the database clock
+ * - Fencing token incremented on every change of holder; leader-only
+ *   writes pass the token of their term to checkFencingToken(), which
+ *   rejects them once another instance has taken the lease over
+ * - Local leadership ends at the lease expiry measured from before the
+ *   renewal, so this instance stops acting before another can take over
+ * - Lease released and membership dropped on shutdown for an immediate handover
+ * - Members heartbeat with every renewal; the leader prunes dead members
+ * - Disabled by default: a single instance is always the leader
+ */
+@Slf4j
+@Service
+public class LeaderElectionService {
+    
+    /**
+     * Token for work that is not leader-only, e.g. a manual policy evaluation.
+     * Real fencing tokens start at 1.
+     */
+    public static final long UNFENCED = 0;
+    
+    private static final String ACQUIRE_SQL =
+        "INSERT INTO leader_lease (name, holder_id, fencing_token, expires_at, renewed_at) " +
+        "VALUES (:name, :holder, 1, TIMESTAMPADD(MICROSECOND, :leaseMicros, NOW(3)), NOW(3)) AS new " +
+        "ON DUPLICATE KEY UPDATE " +
+        // Assignments apply left to right: fencing_token sees the old holder,
+        // the columns after holder_id see the new one
+        "fencing_token = IF(holder_id = new.holder_id OR expires_at >= NOW(3), fencing_token, fencing_token + 1), " +
+        "holder_id = IF(expires_at < NOW(3), new.holder_id, holder_id), " +
+        "expires_at = IF(holder_id = new.holder_id, new.expires_at, expires_at), " +
+        "renewed_at = IF(holder_id = new.holder_id, new.renewed_at, renewed_at)";
+    
+    private static final String READ_SQL =
+        "SELECT holder_id, fencing_token FROM leader_lease WHERE name = :name";
+    
+    private static final String FENCE_SQL =
+        "SELECT fencing_token FROM leader_lease WHERE name = :name FOR SHARE";
+    
+    private static final String RELEASE_SQL =
+        "UPDATE leader_lease SET expires_at = NOW(3) WHERE name = :name AND holder_id = :holder";
+    
+    private static final String HEARTBEAT_SQL =
+        "INSERT INTO controlplane_member (instance_id, heartbeat_at) VALUES (:holder, NOW(3)) " +
+        "ON DUPLICATE KEY UPDATE heartbeat_at = NOW(3)";
+    
+    private static final String LIVE_MEMBERS_SQL =
+        "SELECT instance_id FROM controlplane_member " +
+        "WHERE heartbeat_at >= TIMESTAMPADD(MICROSECOND, -:leaseMicros, NOW(3)) ORDER BY instance_id";
+    
+    private static final String PRUNE_MEMBERS_SQL =
+        "DELETE FROM controlplane_member WHERE heartbeat_at < TIMESTAMPADD(MICROSECOND, -:leaseMicros * 10, NOW(3))";
+    
+    private static final String LEAVE_SQL =
+        "DELETE FROM controlplane_member WHERE instance_id = :holder";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId;
+    
+    @Value("${controlplane.leader.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${controlplane.leader.lease-name:controlplane}")
+    private String leaseName;
+    
+    @Value("${controlplane.leader.lease-duration-ms:15000}")
+    private long leaseDurationMs;
+    
+    private volatile boolean leader;
+    private volatile long fencingToken;
+    private volatile long leaderUntilNanos;
+    private volatile int memberIndex = 0;
+    private volatile int memberCount = 1;
+    
+    public LeaderElectionService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.instanceId = hostname() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    @PostConstruct
+    public void initialize() {
+        Gauge.builder("controlplane.leader", () -> isLeader() ? 1 : 0)
+            .description("1 while this instance holds the leader lease")
+            .register(meterRegistry);
+        
+        if (enabled) {
+            log.info("Leader election enabled for lease '{}' as {}", leaseName, instanceId);
+            renew();
+        }
+    }
+    
+    /**
+     * Acquire or renew the lease.
+     */
+    @Scheduled(fixedDelayString = "${controlplane.leader.renew-interval-ms:5000}")
+    public void renew() {
+        if (!enabled) {
+            return;
+        }
+        
+        long startedNanos = System.nanoTime();
+        try {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", leaseName)
+                .addValue("holder", instanceId)
+                .addValue("leaseMicros", leaseDurationMs * 1000);
+            jdbcTemplate.update(ACQUIRE_SQL, params);
+            Map<String, Object> lease = jdbcTemplate.queryForMap(READ_SQL, params);
+            
+            boolean held = instanceId.equals(lease.get("holder_id"));
+            if (held) {
+                leaderUntilNanos = startedNanos + TimeUnit.MILLISECONDS.toNanos(leaseDurationMs);
+            }
+            transition(held, ((Number) lease.get("fencing_token")).longValue());
+            
+            refreshMembership(params, held);
+        } catch (DataAccessException e) {
+            log.warn("Failed to renew leader lease '{}': {}", leaseName, e.getMessage());
+            if (leader && !isLeader()) {
+                transition(false, fencingToken);
+            }
+        }
+    }
+    
+    /**
+     * Whether this instance currently holds the lease.
+     * Always true when leader election is disabled.
+     */
+    public boolean isLeader() {
+        if (!enabled) {
+            return true;
+        }
+        return leader && System.nanoTime() - leaderUntilNanos < 0;
+    }
+    
+    /**
+     * Whether this instance should process the given global shard. The shard
+     * count must be the same on every replica; shard s belongs to the live
+     * member at position s mod memberCount. With leader election disabled
+     * all shards are local.
+     */
+    public boolean ownsShard(int shard) {
+        if (!enabled) {
+            return true;
+        }
+        return shard % memberCount == memberIndex;
+    }
+    
+    /**
+     * How long a member must wait after taking over a shard before every
+     * other member has stopped claiming in it: a live member sees the new
+     * membership at its next renewal, a dead one is dropped after the lease
+     * duration. Zero when leader election is disabled.
+     */
+    public long getTakeoverGraceMs() {
+        return enabled ? leaseDurationMs : 0;
+    }
+    
+    /**
+     * Fencing token of the current lease term.
+     * Leader-only work captures it when it starts and passes it to
+     * checkFencingToken() before each write or action.
+     */
+    public long getFencingToken() {
+        return fencingToken;
+    }
+    
+    /**
+     * Reject leader-only work whose lease term has been taken over.
+     * 
+     * Called inside the write's transaction, the shared lock on the lease
+     * row keeps a takeover from committing until the write has committed,
+     * so a paused former leader cannot write after a new leader started.
+     * Called outside a transaction it is a point-in-time check, used before
+     * actions that do not write to the database.
+     * 
+     * @throws StaleLeaderException if another instance acquired the lease
+     *         after the given token was issued
+     */
+    public void checkFencingToken(long token) {
+        if (!enabled || token == UNFENCED) {
+            return;
+        }
+        List<Long> current = jdbcTemplate.queryForList(
+            FENCE_SQL, new MapSqlParameterSource("name", leaseName), Long.class);
+        long currentToken = current.isEmpty() ? 0 : current.get(0);
+        if (currentToken != token) {
+            meterRegistry.counter("controlplane.leader.fenced").increment();
+            throw new StaleLeaderException(token, currentToken);
+        }
+    }
+    
+    public String getInstanceId() {
+        return instanceId;
+    }
+    
+    @PreDestroy
+    public void release() {
+        if (!enabled) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("name", leaseName)
+            .addValue("holder", instanceId);
+        try {
+            jdbcTemplate.update(LEAVE_SQL, params);
+            if (leader) {
+                jdbcTemplate.update(RELEASE_SQL, params);
+                log.info("Released leader lease '{}'", leaseName);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to release leader lease '{}': {}", leaseName, e.getMessage());
+        }
+        leader = false;
+    }
+    
+    private void refreshMembership(MapSqlParameterSource params, boolean held) {
+        jdbcTemplate.update(HEARTBEAT_SQL, params);
+        if (held) {
+            jdbcTemplate.update(PRUNE_MEMBERS_SQL, params);
+        }
+        
+        List<String> members = jdbcTemplate.queryForList(LIVE_MEMBERS_SQL, params, String.class);
+        int index = members.indexOf(instanceId);
+        if (index < 0) {
+            // Our heartbeat is not visible yet; keep the previous assignment
+            return;
+        }
+        if (index != memberIndex || members.size() != memberCount) {
+            log.info("Cluster membership changed: {} live members, this instance is #{}", members.size(), index);
+            memberCount = members.size();
+            memberIndex = index;
+        }
+    }
+    
+    private void transition(boolean held, long token) {
+        boolean wasLeader = leader;
+        fencingToken = token;
+        leader = held;
+        
+        if (held != wasLeader) {
+            if (held) {
+                log.info("Acquired leader lease '{}' with fencing token {}", leaseName, token);
+            } else {
+                log.warn("Lost leader lease '{}'", leaseName);
+            }
+            eventPublisher.publishEvent(new LeadershipChange(held, token));
+        }
+    }
+    
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "controlplane";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.platform.controlplane.model.FailureEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Compact binary codec (CBOR, RFC 8949).
+ * Same data model as the JSON codec, typically 30-40% smaller and cheaper to encode.
+ */
+@Component
+public class CborEventCodec implements EventCodec {
+    
+    public static final String NAME = "cbor";
+    
+    // Derived accessors (isFailure, isRecovery) are encoded too; ignore them
+    // on decode like the application ObjectMapper does
+    private final ObjectMapper cborMapper = CBORMapper.builder()
+        .findAndAddModules()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    @Override
+    public String contentType() {
+        return "application/cbor";
+    }
+    
+    @Override
+    public boolean isTextual() {
+        return false;
+    }
+    
+    @Override
+    public byte[] encode(FailureEvent event) throws IOException {
+        return cborMapper.writeValueAsBytes(event);
+    }
+    
+    @Override
+    public FailureEvent decode(byte[] payload) throws IOException {
+        return cborMapper.readValue(payload, FailureEvent.class);
+    }
+}
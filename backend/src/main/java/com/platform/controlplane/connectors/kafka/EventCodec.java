@@ -0,0 +1,37 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.platform.controlplane.model.FailureEvent;
+
+import java.io.IOException;
+
+/**
+ * Encodes failure events for the outbox and Kafka.
+ * 
+ * The encoded bytes are stored once when the event is emitted and then
+ * forwarded to Kafka unchanged, so each event is serialized exactly once.
+ */
+public interface EventCodec {
+    
+    /**
+     * Codec name stored with each outbox entry (e.g. "json", "cbor").
+     */
+    String name();
+    
+    /**
+     * MIME type sent in the Kafka content-type header.
+     */
+    String contentType();
+    
+    /**
+     * Whether the encoding is UTF-8 text that can be stored in the JSON payload column.
+     */
+    boolean isTextual();
+    
+    byte[] encode(FailureEvent event) throws IOException;
+    
+    /**
+     * Inverse of {@link #encode}; what consumers of the content-type header
+     * apply. Must round-trip every event this codec encodes.
+     */
+    FailureEvent decode(byte[] payload) throws IOException;
+}
@@ -0,0 +1,47 @@
+package com.platform.controlplane.connectors.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Looks up event codecs by name and exposes the one configured for new events.
+ * Entries keep the name of the codec they were written with, so switching
+ * codecs never breaks dispatch of rows already in the outbox.
+ */
+@Slf4j
+@Component
+public class EventCodecRegistry {
+    
+    private final Map<String, EventCodec> codecs;
+    private final EventCodec active;
+    
+    public EventCodecRegistry(
+            List<EventCodec> codecs,
+            @Value("${controlplane.kafka.codec:json}") String activeCodec) {
+        this.codecs = codecs.stream()
+            .collect(Collectors.toMap(EventCodec::name, Function.identity()));
+        this.active = forName(activeCodec);
+        log.info("Event codec registry initialized (active={}, available={})", active.name(), this.codecs.keySet());
+    }
+    
+    /**
+     * Codec used to encode newly emitted events.
+     */
+    public EventCodec active() {
+        return active;
+    }
+    
+    public EventCodec forName(String name) {
+        EventCodec codec = codecs.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown event codec: " + name);
+        }
+        return codec;
+    }
+}
@@ -1,6 +1,12 @@
 package com.platform.controlplane.connectors.kafka;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.controlplane.cluster.LeaderElectionService;
+import com.platform.controlplane.contract.ContractRegistry;
+import com.platform.controlplane.contract.DeliveryGuarantee;
+import com.platform.controlplane.contract.LossBehavior;
+import com.platform.controlplane.contract.PersistenceModel;
+import com.platform.controlplane.contract.RecoveryExpectation;
+import com.platform.controlplane.contract.ReliabilityContract;
 import com.platform.controlplane.model.FailureEvent;
 import com.platform.controlplane.observability.MetricsRegistry;
 import com.platform.controlplane.persistence.entity.EventOutboxEntity;
@@ -9,33 +15,71 @@ import com.platform.controlplane.persistence.repository.EventOutboxRepository;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
 
 /**
  * Background dispatcher for reliable Kafka event delivery.
  * 
  * Implements the transactional outbox pattern:
  * 1. Events are persisted to database first
- * 2. Dispatcher polls for pending events
+ * 2. Dispatcher is woken after the outbox commit (or polls as a fallback)
  * 3. Sends to Kafka with retry and exponential backoff
  * 4. Moves to DLQ after max retries
  * 
  * Features:
+ * - Batch claiming with SELECT ... FOR UPDATE SKIP LOCKED and a lease,
+ *   so several replicas can drain the outbox in parallel
+ * - Systems hashed into a fixed number of global shards (CRC32 of system
+ *   type), split between live replicas and then between local workers,
+ *   with per-worker lag and utilization gauges
+ * - A shard taken over from another replica or worker is drained only once
+ *   the previous owner's claims in it have completed or expired
+ * - Stale-claim recovery on the leader only
+ * - Pipelined sends with a bounded in-flight window; the idempotent
+ *   producer keeps per-key order, and a failed send releases the rest of
+ *   its system's events in the batch so a retry is never overtaken
+ * - Optional transactional mode: each claimed batch is sent in one Kafka
+ *   transaction (atomic per batch for read_committed consumers; a batch can
+ *   be re-sent if the outbox update after the Kafka commit fails)
+ * - Immediate wake-up on local writes, adaptive idle polling otherwise
  * - Exponential backoff retry
  * - Max retry limit
  * - Dead-letter queue
+ * - Payloads forwarded as stored (no deserialize/re-serialize), with
+ *   codec and schema version headers
  * - Idempotent delivery
  * - Observable metrics
  */
@@ -43,11 +87,20 @@ import java.util.concurrent.atomic.AtomicLong;
 @Service
 public class EventDispatcherService {
     
+    private static final String HEADER_CONTENT_TYPE = "content-type";
+    private static final String HEADER_SCHEMA_VERSION = "schema-version";
+    private static final String HEADER_EVENT_TYPE = "event-type";
+    private static final String HEADER_TYPE_ID = "__TypeId__";
+    private static final String HEADER_EVENT_ID = "event-id";
+    
     private final EventOutboxRepository outboxRepository;
-    private final KafkaTemplate<String, FailureEvent> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final EventCodecRegistry codecRegistry;
     private final MetricsRegistry metricsRegistry;
     private final MeterRegistry meterRegistry;
+    private final OutboxBacklogTracker backlogTracker;
+    private final ContractRegistry contractRegistry;
+    private final LeaderElectionService leaderElection;
     
     @Value("${controlplane.kafka.event-topic:controlplane-events}")
     private String eventTopic;
@@ -70,98 +123,565 @@ public class EventDispatcherService {
     @Value("${controlplane.kafka.dispatcher.stale-threshold-minutes:5}")
     private int staleThresholdMinutes;
     
-    // Metrics
-    private final AtomicLong pendingCount = new AtomicLong(0);
-    private final AtomicLong dlqCount = new AtomicLong(0);
-    private final AtomicLong processingCount = new AtomicLong(0);
+    @Value("${controlplane.kafka.dispatcher.batch-claim.enabled:true}")
+    private boolean batchClaimEnabled;
+    
+    @Value("${controlplane.kafka.dispatcher.batch-claim.lease-seconds:120}")
+    private long leaseSeconds;
+    
+    @Value("${controlplane.kafka.transactions.enabled:false}")
+    private boolean transactionsEnabled;
+    
+    @Value("${controlplane.kafka.dispatcher.workers:1}")
+    private int workerCount;
+    
+    @Value("${controlplane.kafka.dispatcher.shards:64}")
+    private int shardCount;
+    
+    @Value("${controlplane.kafka.dispatcher.max-in-flight:50}")
+    private int maxInFlight;
+    
+    @Value("${controlplane.kafka.dispatcher.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+    
+    @Value("${controlplane.kafka.dispatcher.min-poll-interval-ms:500}")
+    private long minPollIntervalMs;
+    
+    @Value("${controlplane.kafka.dispatcher.poll-interval-ms:5000}")
+    private long maxPollIntervalMs;
+    
+    private static final long UTILIZATION_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+    
+    // Dispatch workers
+    private final List<DispatchWorker> workers = new ArrayList<>();
+    private final Map<Integer, ShardTakeover> takenShards = new ConcurrentHashMap<>();
+    private ThreadPoolTaskExecutor workerExecutor;
+    private volatile boolean running = false;
+    private volatile Instant lastStaleReset = Instant.EPOCH;
     
     public EventDispatcherService(
             EventOutboxRepository outboxRepository,
-            KafkaTemplate<String, FailureEvent> kafkaTemplate,
-            ObjectMapper objectMapper,
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            EventCodecRegistry codecRegistry,
             MetricsRegistry metricsRegistry,
-            MeterRegistry meterRegistry) {
+            MeterRegistry meterRegistry,
+            OutboxBacklogTracker backlogTracker,
+            ContractRegistry contractRegistry,
+            LeaderElectionService leaderElection) {
         this.outboxRepository = outboxRepository;
         this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+        this.codecRegistry = codecRegistry;
         this.metricsRegistry = metricsRegistry;
         this.meterRegistry = meterRegistry;
+        this.backlogTracker = backlogTracker;
+        this.contractRegistry = contractRegistry;
+        this.leaderElection = leaderElection;
     }
     
     @PostConstruct
     public void init() {
-        // Register gauges for observable backlog
-        Gauge.builder("kafka.outbox.pending", pendingCount, AtomicLong::get)
-            .description("Number of pending events in outbox")
-            .register(meterRegistry);
+        if (!batchClaimEnabled && workerCount > 1) {
+            log.warn("Sharded dispatch requires batch claiming, using a single dispatcher worker");
+            workerCount = 1;
+        }
+        workerCount = Math.max(1, workerCount);
+        shardCount = Math.max(1, shardCount);
+        maxInFlight = Math.max(1, maxInFlight);
+        if (batchClaimEnabled && workerCount > shardCount) {
+            log.warn("More dispatcher workers ({}) than outbox shards ({}), some workers will stay idle",
+                workerCount, shardCount);
+        }
         
-        Gauge.builder("kafka.outbox.dlq", dlqCount, AtomicLong::get)
-            .description("Number of events in dead-letter queue")
-            .register(meterRegistry);
+        // Backlog gauges are owned by OutboxBacklogTracker
+        for (int index = 0; index < workerCount; index++) {
+            DispatchWorker worker = new DispatchWorker(index);
+            workers.add(worker);
+            
+            String tag = String.valueOf(index);
+            Gauge.builder("kafka.outbox.poll_interval_ms", worker.pollIntervalMs, AtomicLong::get)
+                .description("Current fallback poll interval of the dispatcher worker")
+                .tag("worker", tag)
+                .register(meterRegistry);
+            Gauge.builder("kafka.dispatcher.worker.lag_ms", worker.lagMs, AtomicLong::get)
+                .description("Age of the oldest event in the worker's last claimed batch")
+                .tag("worker", tag)
+                .register(meterRegistry);
+            Gauge.builder("kafka.dispatcher.worker.utilization", worker, DispatchWorker::utilization)
+                .description("Fraction of time the worker spent dispatching rather than waiting")
+                .tag("worker", tag)
+                .register(meterRegistry);
+        }
         
-        Gauge.builder("kafka.outbox.processing", processingCount, AtomicLong::get)
-            .description("Number of events currently being processed")
-            .register(meterRegistry);
+        if (isTransactional()) {
+            contractRegistry.registerContract(new ReliabilityContract(
+                "kafka-events",
+                DeliveryGuarantee.EXACTLY_ONCE,
+                PersistenceModel.EXTERNAL,
+                LossBehavior.BLOCK,
+                RecoveryExpectation.AUTOMATIC,
+                "Kafka event publishing from the transactional outbox, one Kafka transaction per batch; " +
+                    "a batch is re-sent if the outbox update after the Kafka commit fails"
+            ));
+        }
+        
+        log.info("Event dispatcher initialized (enabled={}, workers={}, shards={}, batchSize={}, maxRetries={}, batchClaim={}, transactional={}, maxInFlight={})",
+            enabled, workerCount, shardCount, batchSize, maxRetries, batchClaimEnabled, isTransactional(), maxInFlight);
+    }
+    
+    /**
+     * Start the dispatch workers once the application is ready.
+     * Workers run on their own bounded pool, never on the shared scheduler,
+     * so slow Kafka sends cannot delay health checks or policy evaluation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
         
-        // Initial count update
-        updateMetrics();
+        workerExecutor = new ThreadPoolTaskExecutor();
+        workerExecutor.setCorePoolSize(workerCount);
+        workerExecutor.setMaxPoolSize(workerCount);
+        workerExecutor.setQueueCapacity(0);
+        workerExecutor.setThreadNamePrefix("outbox-dispatcher-");
+        workerExecutor.setDaemon(true);
+        workerExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        workerExecutor.setAwaitTerminationMillis(sendTimeoutMs);
+        workerExecutor.initialize();
         
-        log.info("Event dispatcher initialized (enabled={}, batchSize={}, maxRetries={})",
-            enabled, batchSize, maxRetries);
+        workers.forEach(workerExecutor::execute);
+        log.info("Outbox dispatch started with {} workers (poll interval {}-{}ms)",
+            workerCount, minPollIntervalMs, maxPollIntervalMs);
     }
     
     /**
-     * Main dispatch loop - runs on fixed schedule.
+     * Stop the dispatch workers, letting their current cycles finish.
      */
-    @Scheduled(fixedDelayString = "${controlplane.kafka.dispatcher.poll-interval-ms:5000}")
-    public void dispatchPendingEvents() {
-        if (!enabled) {
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wakeUp();
+        workerExecutor.shutdown();
+        log.info("Outbox dispatch stopped");
+    }
+    
+    /**
+     * Wake the worker owning the event's system after an outbox write commits.
+     * Without a surrounding transaction the event is delivered immediately.
+     * Events of shards owned by another replica are left to its polling.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventQueued(OutboxEventQueued event) {
+        if (workers.isEmpty()) {
             return;
         }
+        int worker = batchClaimEnabled ? workerOf(shardOf(event.systemType())) : 0;
+        if (worker >= 0) {
+            workers.get(worker).wakeUp();
+        }
+    }
+    
+    /**
+     * Signal every dispatch worker to run a cycle now.
+     */
+    public void wakeUp() {
+        workers.forEach(DispatchWorker::wakeUp);
+    }
+    
+    /**
+     * Global shard of a system type. Must match the MOD(CRC32(system_type), n)
+     * filter used when claiming, with the same shard count on every replica.
+     */
+    private int shardOf(String systemType) {
+        CRC32 crc = new CRC32();
+        crc.update(systemType.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+    
+    /**
+     * Global shards owned by this replica, ascending. The i-th owned shard
+     * is drained by local worker i mod workerCount.
+     */
+    private List<Integer> ownedShards() {
+        List<Integer> owned = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (leaderElection.ownsShard(shard)) {
+                owned.add(shard);
+            }
+        }
+        return owned;
+    }
+    
+    /**
+     * Local worker draining a global shard, or -1 if another replica owns it.
+     */
+    private int workerOf(int shard) {
+        int position = ownedShards().indexOf(shard);
+        return position < 0 ? -1 : position % workerCount;
+    }
+    
+    /**
+     * Run one dispatch cycle on every worker.
+     * 
+     * @return number of events claimed in this cycle
+     */
+    public int dispatchPendingEvents() {
+        int dispatched = 0;
+        for (int worker = 0; worker < workerCount; worker++) {
+            dispatched += dispatchWorker(worker);
+        }
+        return dispatched;
+    }
+    
+    /**
+     * Run one dispatch cycle for a single worker.
+     * 
+     * @return number of events claimed in this cycle
+     */
+    private int dispatchWorker(int worker) {
+        if (!enabled) {
+            return 0;
+        }
         
         try {
-            // Reset stale processing events first
-            resetStaleEvents();
-            
-            // Fetch pending events ready for dispatch
-            List<EventOutboxEntity> events = outboxRepository.findPendingEventsForDispatch(
-                Instant.now(),
-                PageRequest.of(0, batchSize)
-            );
+            // Reset stale processing events, at most once per poll interval, on the leader only
+            Instant now = Instant.now();
+            if (worker == 0 && leaderElection.isLeader() && lastStaleReset.plusMillis(maxPollIntervalMs).isBefore(now)) {
+                lastStaleReset = now;
+                resetStaleEvents();
+            }
             
-            if (events.isEmpty()) {
-                return;
+            if (!batchClaimEnabled) {
+                // Polling is not sharded: the owner of shard 0 drains the whole outbox
+                return leaderElection.ownsShard(0) ? dispatchPolledBatch() : 0;
             }
             
-            log.debug("Dispatching {} pending events", events.size());
+            List<Integer> shards = drainableShards(worker);
+            return shards.isEmpty() ? 0 : dispatchClaimedBatch(worker, shards);
             
-            int successCount = 0;
-            int failureCount = 0;
-            int dlqedCount = 0;
+        } catch (Exception e) {
+            log.error("Error in dispatch cycle for worker {}: {}", worker, e.getMessage(), e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Shards of a worker that are safe to drain. Ownership is recomputed every
+     * cycle from the live membership. A shard newly assigned to the worker is
+     * drained only after the takeover grace period, once no claim in it holds
+     * an unexpired lease, so the previous owner's in-flight sends cannot be
+     * overtaken by later events of the same system.
+     */
+    private List<Integer> drainableShards(int worker) {
+        List<Integer> owned = ownedShards();
+        takenShards.keySet().retainAll(owned);
+        
+        long nowNanos = System.nanoTime();
+        long graceNanos = TimeUnit.MILLISECONDS.toNanos(leaderElection.getTakeoverGraceMs());
+        List<Integer> drainable = new ArrayList<>();
+        for (int i = worker; i < owned.size(); i += workerCount) {
+            int shard = owned.get(i);
+            ShardTakeover takeover = takenShards.compute(shard, (key, current) ->
+                current != null && current.worker == worker ? current : new ShardTakeover(worker, nowNanos));
             
-            for (EventOutboxEntity event : events) {
-                try {
-                    boolean success = dispatchEvent(event);
-                    if (success) {
-                        successCount++;
-                    } else {
-                        failureCount++;
-                    }
-                } catch (Exception e) {
-                    log.error("Unexpected error dispatching event {}: {}", event.getId(), e.getMessage());
-                    failureCount++;
-                    handleDispatchFailure(event, e.getMessage());
+            if (!takeover.drainable) {
+                if (nowNanos - takeover.takenAtNanos < graceNanos
+                        || outboxRepository.countActiveClaimsInShard(Instant.now(), shardCount, shard) > 0) {
+                    continue;
                 }
+                takeover.drainable = true;
+                log.debug("Dispatcher worker {} took over outbox shard {}", worker, shard);
+            }
+            drainable.add(shard);
+        }
+        return drainable;
+    }
+    
+    /**
+     * Claim a batch from a worker's shards in one round trip, pipeline the
+     * sends, and commit the outcome with batched UPDATEs.
+     */
+    private int dispatchClaimedBatch(int index, List<Integer> shards) {
+        String claimToken = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        DispatchWorker worker = workers.get(index);
+        
+        List<EventOutboxEntity> events = outboxRepository.claimBatch(
+            claimToken, now, now.plusSeconds(leaseSeconds), batchSize, shardCount, shards);
+        
+        if (events.isEmpty()) {
+            worker.lagMs.set(0);
+            return 0;
+        }
+        
+        worker.lagMs.set(Math.max(0, now.toEpochMilli() - events.get(0).getCreatedAt().toEpochMilli()));
+        backlogTracker.onClaimed(events.size());
+        log.debug("Claimed {} pending events (worker={}, shards={}, claim={})", events.size(), index, shards, claimToken);
+        
+        DispatchBatch batch = isTransactional() ? sendTransactional(events) : sendPipelined(events);
+        commitBatch(claimToken, batch);
+        
+        log.info("Dispatch cycle complete: success={}, failures={}, deferred={}",
+            batch.delivered.size(), batch.failed.size(), batch.deferred.size());
+        
+        return events.size();
+    }
+    
+    /**
+     * Send claimed events keeping up to maxInFlight sends outstanding.
+     * 
+     * Events are handed to the producer in claim order. Records of a system
+     * share a key and so a partition, and the idempotent producer (at most 5
+     * in-flight requests per connection) keeps them in order on the broker
+     * and completes their callbacks in order. Once a send for a system fails,
+     * every later event of that system in the batch is released rather than
+     * recorded as delivered, so it is sent again behind the retry and can
+     * never be overtaken by it.
+     */
+    private DispatchBatch sendPipelined(List<EventOutboxEntity> events) {
+        DispatchBatch batch = new DispatchBatch();
+        Semaphore window = new Semaphore(maxInFlight);
+        List<CompletableFuture<?>> sends = new ArrayList<>();
+        
+        int next = 0;
+        for (; next < events.size(); next++) {
+            EventOutboxEntity entry = events.get(next);
+            if (batch.isFenced(entry.getSystemType())) {
+                batch.defer(entry);
+                continue;
             }
             
-            log.info("Dispatch cycle complete: success={}, failures={}", successCount, failureCount);
+            try {
+                if (!window.tryAcquire(sendTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    log.warn("No Kafka acks within {}ms, deferring unsent events", sendTimeoutMs);
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
             
-            // Update metrics
-            updateMetrics();
+            CompletableFuture<?> sent = send(entry, batch);
+            if (sent == null) {
+                window.release();
+                continue;
+            }
+            sent.whenComplete((result, ex) -> window.release());
+            sends.add(sent);
+        }
+        
+        // Anything not handed to the producer was never sent
+        events.subList(next, events.size()).forEach(batch::defer);
+        
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0]))
+                .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("No Kafka acks within {}ms for {} outstanding sends", sendTimeoutMs,
+                sends.stream().filter(sent -> !sent.isDone()).count());
+        } catch (ExecutionException e) {
+            // Outcomes are recorded per send
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        batch.failUnresolved(events, "Timed out waiting for Kafka ack");
+        
+        return batch;
+    }
+    
+    /**
+     * Send one event and record its outcome in the batch.
+     * 
+     * @return a future completed after the outcome was recorded, or null if
+     *         the send failed synchronously
+     */
+    private CompletableFuture<?> send(EventOutboxEntity entry, DispatchBatch batch) {
+        long startTime = System.currentTimeMillis();
+        try {
+            return kafkaTemplate.send(toRecord(entry))
+                .whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        long latency = System.currentTimeMillis() - startTime;
+                        batch.deliver(entry);
+                        metricsRegistry.recordLatency("kafka.dispatcher", "send", latency);
+                        metricsRegistry.incrementCounter("kafka.dispatcher.processed");
+                        log.debug("Event {} acked by Kafka in {}ms", entry.getEventId(), latency);
+                    } else {
+                        log.error("Failed to dispatch event {}: {}", entry.getEventId(), ex.getMessage());
+                        batch.fail(entry, ex.getMessage());
+                    }
+                });
+        } catch (Exception e) {
+            log.error("Failed to dispatch event {}: {}", entry.getEventId(), e.getMessage());
+            batch.fail(entry, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Send a claimed batch inside a single Kafka transaction.
+     * 
+     * The commit flushes every record and waits for all acks once, so ack
+     * latency is paid per batch rather than per event. If any send fails the
+     * transaction aborts and read_committed consumers see none of the batch,
+     * so the whole batch is retried together and per-system order holds.
+     */
+    private DispatchBatch sendTransactional(List<EventOutboxEntity> events) {
+        DispatchBatch batch = new DispatchBatch();
+        long startTime = System.currentTimeMillis();
+        
+        try {
+            kafkaTemplate.executeInTransaction(operations -> {
+                events.forEach(entry -> operations.send(toRecord(entry)));
+                return null;
+            });
+            
+            long latency = System.currentTimeMillis() - startTime;
+            events.forEach(batch::deliver);
+            metricsRegistry.recordLatency("kafka.dispatcher", "transaction", latency);
+            metricsRegistry.incrementCounter("kafka.dispatcher.transactions", "result", "committed");
+            meterRegistry.counter("kafka.dispatcher.processed").increment(events.size());
+            log.debug("Kafka transaction with {} events committed in {}ms", events.size(), latency);
             
         } catch (Exception e) {
-            log.error("Error in dispatch cycle: {}", e.getMessage(), e);
+            log.error("Kafka transaction with {} events aborted: {}", events.size(), e.getMessage());
+            metricsRegistry.incrementCounter("kafka.dispatcher.transactions", "result", "aborted");
+            batch.failUnresolved(events, e.getMessage());
         }
+        
+        return batch;
+    }
+    
+    private boolean isTransactional() {
+        return transactionsEnabled && batchClaimEnabled;
+    }
+    
+    /**
+     * Build the Kafka record for an outbox entry.
+     * The stored payload bytes are forwarded unchanged; codec and schema
+     * version travel as headers so consumers can decode and evolve.
+     */
+    private ProducerRecord<String, byte[]> toRecord(EventOutboxEntity entry) {
+        EventCodec codec = codecRegistry.forName(entry.getPayloadCodec());
+        ProducerRecord<String, byte[]> record =
+            new ProducerRecord<>(eventTopic, entry.getSystemType(), entry.payloadBytes());
+        
+        record.headers()
+            .add(HEADER_CONTENT_TYPE, codec.contentType().getBytes(StandardCharsets.UTF_8))
+            .add(HEADER_SCHEMA_VERSION, String.valueOf(entry.getSchemaVersion()).getBytes(StandardCharsets.UTF_8))
+            .add(HEADER_EVENT_TYPE, entry.getEventType().getBytes(StandardCharsets.UTF_8))
+            .add(HEADER_EVENT_ID, entry.getEventId().getBytes(StandardCharsets.UTF_8));
+        
+        if (codec.isTextual()) {
+            // Keep consumers using Spring's JsonDeserializer type mapping working
+            record.headers().add(HEADER_TYPE_ID, FailureEvent.class.getName().getBytes(StandardCharsets.UTF_8));
+        }
+        return record;
+    }
+    
+    /**
+     * Commit a batch outcome with one UPDATE per outcome group instead of one
+     * save per event. Every UPDATE is guarded by the claim token.
+     */
+    private void commitBatch(String claimToken, DispatchBatch batch) {
+        Instant now = Instant.now();
+        
+        if (!batch.delivered.isEmpty()) {
+            List<String> ids = batch.delivered.stream().map(EventOutboxEntity::getId).toList();
+            int marked = outboxRepository.markDeliveredByClaim(ids, claimToken, now);
+            backlogTracker.onDelivered(marked);
+            if (marked < ids.size()) {
+                log.warn("Claim {} lost {} of {} events before delivery was recorded (lease expired)",
+                    claimToken, ids.size() - marked, ids.size());
+            }
+        }
+        
+        // Failed events: group by next retry time and error, or move to DLQ
+        Map<String, Instant> fenceUntil = new HashMap<>();
+        Map<RetryGroup, List<String>> retries = new LinkedHashMap<>();
+        Map<String, List<String>> dlq = new LinkedHashMap<>();
+        
+        for (Failure failure : batch.failed) {
+            EventOutboxEntity entry = failure.entry();
+            String errorMessage = failure.errorMessage();
+            
+            entry.incrementRetry(baseBackoffMs, maxBackoffMs);
+            if (entry.isMaxRetriesExceeded()) {
+                dlq.computeIfAbsent("Max retries exceeded: " + errorMessage, k -> new ArrayList<>())
+                    .add(entry.getId());
+                log.warn("Event {} moved to DLQ after {} retries: {}",
+                    entry.getEventId(), entry.getRetryCount(), errorMessage);
+                metricsRegistry.incrementCounter("kafka.dispatcher.dlq");
+            } else {
+                Instant nextRetryAt = entry.getNextRetryAt().truncatedTo(ChronoUnit.SECONDS);
+                retries.computeIfAbsent(new RetryGroup(nextRetryAt, errorMessage), k -> new ArrayList<>())
+                    .add(entry.getId());
+                fenceUntil.merge(entry.getSystemType(), nextRetryAt,
+                    (a, b) -> a.isAfter(b) ? a : b);
+                log.info("Event {} scheduled for retry {} at {}",
+                    entry.getEventId(), entry.getRetryCount(), nextRetryAt);
+                metricsRegistry.incrementCounter("kafka.dispatcher.retries");
+            }
+            metricsRegistry.incrementCounter("kafka.dispatcher.failures");
+        }
+        
+        retries.forEach((group, ids) -> backlogTracker.onReleased(outboxRepository.scheduleRetryByClaim(
+            ids, claimToken, group.nextRetryAt(), group.errorMessage(), now)));
+        dlq.forEach((reason, ids) -> backlogTracker.onMovedToDlq(
+            outboxRepository.moveToDlqByClaim(ids, claimToken, reason, now)));
+        
+        // Deferred events become due together with the failed event they queue behind
+        Map<Instant, List<String>> deferred = new LinkedHashMap<>();
+        for (EventOutboxEntity entry : batch.deferred) {
+            Instant nextRetryAt = fenceUntil.getOrDefault(entry.getSystemType(), now);
+            deferred.computeIfAbsent(nextRetryAt, k -> new ArrayList<>()).add(entry.getId());
+        }
+        deferred.forEach((nextRetryAt, ids) -> backlogTracker.onReleased(
+            outboxRepository.releaseByClaim(ids, claimToken, nextRetryAt, now)));
+    }
+    
+    /**
+     * Poll pending events and claim them one at a time.
+     * Used when batch claiming is disabled.
+     */
+    private int dispatchPolledBatch() {
+        // Fetch pending events ready for dispatch
+        List<EventOutboxEntity> events = outboxRepository.findPendingEventsForDispatch(
+            Instant.now(),
+            PageRequest.of(0, batchSize)
+        );
+        
+        if (events.isEmpty()) {
+            return 0;
+        }
+        
+        log.debug("Dispatching {} pending events", events.size());
+        
+        int successCount = 0;
+        int failureCount = 0;
+        
+        for (EventOutboxEntity event : events) {
+            try {
+                boolean success = dispatchEvent(event);
+                if (success) {
+                    successCount++;
+                } else {
+                    failureCount++;
+                }
+            } catch (Exception e) {
+                log.error("Unexpected error dispatching event {}: {}", event.getId(), e.getMessage());
+                failureCount++;
+                handleDispatchFailure(event, e.getMessage());
+            }
+        }
+        
+        log.info("Dispatch cycle complete: success={}, failures={}", successCount, failureCount);
+        
+        return events.size();
     }
     
     /**
@@ -179,29 +699,21 @@ public class EventDispatcherService {
                 log.debug("Event {} already being processed by another dispatcher", outboxEntry.getId());
                 return false;
             }
+            backlogTracker.onClaimed(1);
             
             // Refresh entity after update
-            outboxEntry = outboxRepository.findById(outboxEntry.getId()).orElse(null);
+            outboxEntry = outboxRepository.findFreshById(outboxEntry.getId()).orElse(null);
             if (outboxEntry == null) {
                 return false;
             }
             
-            // Deserialize payload
-            FailureEvent event = objectMapper.readValue(outboxEntry.getPayload(), FailureEvent.class);
-            
-            // Send to Kafka synchronously
-            long startTime = System.currentTimeMillis();
-            kafkaTemplate.send(eventTopic, event.system(), event).get(30, TimeUnit.SECONDS);
-            long latency = System.currentTimeMillis() - startTime;
+            sendToKafka(outboxEntry);
             
             // Mark as delivered
             outboxEntry.markDelivered();
             outboxRepository.save(outboxEntry);
+            backlogTracker.onDelivered(1);
             
-            metricsRegistry.recordLatency("kafka.dispatcher", "send", latency);
-            metricsRegistry.incrementCounter("kafka.dispatcher.processed");
-            
-            log.info("Event {} delivered to Kafka in {}ms", outboxEntry.getEventId(), latency);
             return true;
             
         } catch (Exception e) {
@@ -213,14 +725,35 @@ public class EventDispatcherService {
         }
     }
     
+    /**
+     * Send an outbox entry to Kafka synchronously and record send metrics.
+     */
+    private void sendToKafka(EventOutboxEntity outboxEntry) throws Exception {
+        long startTime = System.currentTimeMillis();
+        kafkaTemplate.send(toRecord(outboxEntry)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        long latency = System.currentTimeMillis() - startTime;
+        
+        metricsRegistry.recordLatency("kafka.dispatcher", "send", latency);
+        metricsRegistry.incrementCounter("kafka.dispatcher.processed");
+        
+        log.info("Event {} delivered to Kafka in {}ms", outboxEntry.getEventId(), latency);
+    }
+    
     /**
      * Handle dispatch failure - increment retry or move to DLQ.
      */
     @Transactional
     public void handleDispatchFailure(EventOutboxEntity outboxEntry, String errorMessage) {
         // Reload entity
-        outboxEntry = outboxRepository.findById(outboxEntry.getId()).orElse(outboxEntry);
+        outboxEntry = outboxRepository.findFreshById(outboxEntry.getId()).orElse(outboxEntry);
         
+        applyFailure(outboxEntry, errorMessage);
+    }
+    
+    /**
+     * Increment retry or move to DLQ, then persist.
+     */
+    private void applyFailure(EventOutboxEntity outboxEntry, String errorMessage) {
         outboxEntry.incrementRetry(baseBackoffMs, maxBackoffMs);
         
         if (outboxEntry.isMaxRetriesExceeded()) {
@@ -229,6 +762,8 @@ public class EventDispatcherService {
             log.warn("Event {} moved to DLQ after {} retries: {}",
                 outboxEntry.getEventId(), outboxEntry.getRetryCount(), errorMessage);
             metricsRegistry.incrementCounter("kafka.dispatcher.dlq");
+            outboxRepository.save(outboxEntry);
+            backlogTracker.onMovedToDlq(1);
         } else {
             // Reset to pending for retry
             outboxEntry.setStatus(OutboxStatus.PENDING);
@@ -236,9 +771,11 @@ public class EventDispatcherService {
             log.info("Event {} scheduled for retry {} at {}",
                 outboxEntry.getEventId(), outboxEntry.getRetryCount(), outboxEntry.getNextRetryAt());
             metricsRegistry.incrementCounter("kafka.dispatcher.retries");
+            outboxRepository.save(outboxEntry);
+            backlogTracker.onReleased(1);
         }
         
-        outboxRepository.save(outboxEntry);
+
         metricsRegistry.incrementCounter("kafka.dispatcher.failures");
     }
     
@@ -247,22 +784,22 @@ public class EventDispatcherService {
      */
     @Transactional
     public void resetStaleEvents() {
-        Instant staleThreshold = Instant.now().minusSeconds(staleThresholdMinutes * 60L);
-        int reset = outboxRepository.resetStaleProcessingEvents(staleThreshold, Instant.now());
+        Instant now = Instant.now();
+        Instant staleThreshold = now.minusSeconds(staleThresholdMinutes * 60L);
+        int reset = outboxRepository.resetStaleProcessingEvents(staleThreshold, now);
         
         if (reset > 0) {
+            backlogTracker.onReleased(reset);
             log.warn("Reset {} stale processing events back to pending", reset);
             metricsRegistry.incrementCounter("kafka.dispatcher.stale_reset", "count", String.valueOf(reset));
         }
-    }
-    
-    /**
-     * Update gauge metrics.
-     */
-    public void updateMetrics() {
-        pendingCount.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
-        dlqCount.set(outboxRepository.countByStatus(OutboxStatus.DLQ));
-        processingCount.set(outboxRepository.countByStatus(OutboxStatus.PROCESSING));
+        
+        int released = outboxRepository.releaseExpiredClaims(now);
+        if (released > 0) {
+            backlogTracker.onReleased(released);
+            log.warn("Released {} events with expired claim leases back to pending", released);
+            metricsRegistry.incrementCounter("kafka.dispatcher.lease_expired");
+        }
     }
     
     /**
@@ -287,22 +824,172 @@ public class EventDispatcherService {
         event.setNextRetryAt(Instant.now());
         event.setErrorMessage(null);
         outboxRepository.save(event);
+        backlogTracker.onDlqRetried(1);
         
         log.info("DLQ event {} reset for retry", eventId);
         return true;
     }
     
     /**
-     * Get counts by status.
+     * Get counts by status (from the in-memory backlog counters).
      */
     public OutboxStats getStats() {
         return new OutboxStats(
-            outboxRepository.countByStatus(OutboxStatus.PENDING),
-            outboxRepository.countByStatus(OutboxStatus.PROCESSING),
-            outboxRepository.countByStatus(OutboxStatus.DELIVERED),
-            outboxRepository.countByStatus(OutboxStatus.DLQ)
+            backlogTracker.get(OutboxStatus.PENDING),
+            backlogTracker.get(OutboxStatus.PROCESSING),
+            backlogTracker.get(OutboxStatus.DELIVERED),
+            backlogTracker.get(OutboxStatus.DLQ)
         );
     }
     
     public record OutboxStats(long pending, long processing, long delivered, long dlq) {}
+    
+    /**
+     * Dispatch loop for one worker. Runs back to back while full batches are
+     * found, waits for a wake-up otherwise, and doubles the fallback poll
+     * interval up to poll-interval-ms while the worker's shards stay idle.
+     */
+    private final class DispatchWorker implements Runnable {
+        private final int index;
+        private final Semaphore wakeSignal = new Semaphore(0);
+        private final AtomicLong pollIntervalMs = new AtomicLong(0);
+        private final AtomicLong lagMs = new AtomicLong(0);
+        
+        // Busy/total time of the current utilization window, in nanos
+        private long windowBusy;
+        private long windowTotal;
+        private volatile double utilization;
+        
+        DispatchWorker(int index) {
+            this.index = index;
+        }
+        
+        double utilization() {
+            return utilization;
+        }
+        
+        void wakeUp() {
+            if (wakeSignal.availablePermits() == 0) {
+                wakeSignal.release();
+            }
+        }
+        
+        @Override
+        public void run() {
+            long intervalMs = minPollIntervalMs;
+            
+            while (running) {
+                long cycleStart = System.nanoTime();
+                int dispatched = dispatchWorker(index);
+                long busy = System.nanoTime() - cycleStart;
+                
+                if (dispatched >= batchSize) {
+                    intervalMs = 0;
+                } else if (dispatched > 0) {
+                    intervalMs = minPollIntervalMs;
+                } else {
+                    intervalMs = Math.min(Math.max(intervalMs * 2, minPollIntervalMs), maxPollIntervalMs);
+                }
+                pollIntervalMs.set(intervalMs);
+                
+                if (intervalMs > 0) {
+                    awaitWakeUp(intervalMs);
+                }
+                recordUtilization(busy, System.nanoTime() - cycleStart);
+            }
+        }
+        
+        private void awaitWakeUp(long timeoutMs) {
+            try {
+                if (wakeSignal.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    wakeSignal.drainPermits();
+                    metricsRegistry.incrementCounter("kafka.dispatcher.wakeups");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+        
+        private void recordUtilization(long busy, long total) {
+            windowBusy += busy;
+            windowTotal += total;
+            if (windowTotal >= UTILIZATION_WINDOW_NANOS) {
+                utilization = (double) windowBusy / windowTotal;
+                windowBusy = 0;
+                windowTotal = 0;
+            }
+        }
+    }
+    
+    private record RetryGroup(Instant nextRetryAt, String errorMessage) {}
+    
+    private record Failure(EventOutboxEntity entry, String errorMessage) {}
+    
+    /**
+     * When a worker was assigned a global shard, and whether the previous
+     * owner's claims in it have been waited out.
+     */
+    private static final class ShardTakeover {
+        private final int worker;
+        private final long takenAtNanos;
+        private volatile boolean drainable;
+        
+        ShardTakeover(int worker, long takenAtNanos) {
+            this.worker = worker;
+            this.takenAtNanos = takenAtNanos;
+        }
+    }
+    
+    /**
+     * Outcome of one claimed batch. Written from Kafka producer callbacks
+     * and the dispatcher thread, so all mutators are synchronized.
+     */
+    private static final class DispatchBatch {
+        private final List<EventOutboxEntity> delivered = new ArrayList<>();
+        private final List<Failure> failed = new ArrayList<>();
+        private final List<EventOutboxEntity> deferred = new ArrayList<>();
+        private final Set<String> resolved = new HashSet<>();
+        private final Set<String> fencedSystems = new HashSet<>();
+        
+        synchronized boolean isFenced(String systemType) {
+            return fencedSystems.contains(systemType);
+        }
+        
+        /**
+         * Record an ack. Callbacks of one key run in send order, so an ack of
+         * a system that already failed belongs to a later event: it is
+         * released to be sent again behind the retry.
+         */
+        synchronized void deliver(EventOutboxEntity entry) {
+            if (fencedSystems.contains(entry.getSystemType())) {
+                defer(entry);
+            } else if (resolved.add(entry.getId())) {
+                delivered.add(entry);
+            }
+        }
+        
+        /**
+         * Record a failed send. Only the first failure of a system is retried;
+         * later events of it are released to queue behind that retry.
+         */
+        synchronized void fail(EventOutboxEntity entry, String errorMessage) {
+            if (fencedSystems.contains(entry.getSystemType())) {
+                defer(entry);
+            } else if (resolved.add(entry.getId())) {
+                failed.add(new Failure(entry, errorMessage));
+                fencedSystems.add(entry.getSystemType());
+            }
+        }
+        
+        synchronized void defer(EventOutboxEntity entry) {
+            if (resolved.add(entry.getId())) {
+                deferred.add(entry);
+            }
+        }
+        
+        synchronized void failUnresolved(List<EventOutboxEntity> entries, String errorMessage) {
+            entries.forEach(entry -> fail(entry, errorMessage));
+        }
+    }
 }
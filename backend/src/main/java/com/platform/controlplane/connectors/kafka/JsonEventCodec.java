@@ -0,0 +1,48 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.controlplane.model.FailureEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * JSON codec using the application ObjectMapper.
+ * Wire-compatible with the previous Spring JsonSerializer output.
+ */
+@Component
+public class JsonEventCodec implements EventCodec {
+    
+    public static final String NAME = "json";
+    
+    private final ObjectMapper objectMapper;
+    
+    public JsonEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    @Override
+    public String contentType() {
+        return "application/json";
+    }
+    
+    @Override
+    public boolean isTextual() {
+        return true;
+    }
+    
+    @Override
+    public byte[] encode(FailureEvent event) throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+    
+    @Override
+    public FailureEvent decode(byte[] payload) throws IOException {
+        return objectMapper.readValue(payload, FailureEvent.class);
+    }
+}
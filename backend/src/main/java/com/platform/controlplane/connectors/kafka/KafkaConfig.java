@@ -1,7 +1,7 @@
 package com.platform.controlplane.connectors.kafka;
 
-import com.platform.controlplane.model.FailureEvent;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -9,13 +9,18 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Kafka configuration for the control plane.
+ * 
+ * Values are pre-encoded by an {@link EventCodec} when the event is written
+ * to the outbox, so the producer only passes bytes through.
  */
 @Configuration
 public class KafkaConfig {
@@ -23,16 +28,24 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
     
+    @Value("${controlplane.kafka.transactions.enabled:false}")
+    private boolean transactionsEnabled;
+    
+    @Value("${controlplane.kafka.transactions.id-prefix:controlplane-outbox-}")
+    private String transactionIdPrefix;
+    
     @Bean
-    public ProducerFactory<String, FailureEvent> producerFactory() {
+    public ProducerFactory<String, byte[]> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
         
         // Reliability settings
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        // Idempotence with at most 5 in-flight requests keeps per-partition order
+        // across retries; the dispatcher pipelines sends relying on it
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
         configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
         
@@ -45,11 +58,28 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 30000);
         configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 120000);
         
-        return new DefaultKafkaProducerFactory<>(configProps);
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(configProps);
+        if (transactionsEnabled) {
+            // Unique per instance so replicas do not fence each other
+            factory.setTransactionIdPrefix(transactionIdPrefix + instanceId() + "-");
+        }
+        return factory;
     }
     
     @Bean
-    public KafkaTemplate<String, FailureEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
+        KafkaTemplate<String, byte[]> template = new KafkaTemplate<>(producerFactory());
+        if (transactionsEnabled) {
+            template.setAllowNonTransactional(true);
+        }
+        return template;
+    }
+    
+    private static String instanceId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
     }
 }
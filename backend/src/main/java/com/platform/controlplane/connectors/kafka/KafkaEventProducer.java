@@ -1,7 +1,5 @@
 package com.platform.controlplane.connectors.kafka;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.platform.controlplane.contract.ContractRegistry;
 import com.platform.controlplane.model.FailureEvent;
 import com.platform.controlplane.observability.MetricsRegistry;
@@ -9,9 +7,14 @@ import com.platform.controlplane.persistence.entity.EventOutboxEntity;
 import com.platform.controlplane.persistence.repository.EventOutboxRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -19,7 +22,8 @@ import java.util.concurrent.CompletableFuture;
  * Kafka event producer implementing the transactional outbox pattern.
  * 
  * Events are persisted to the database first (event_outbox table),
- * then dispatched to Kafka by the EventDispatcherService.
+ * then dispatched to Kafka by the EventDispatcherService, which is woken
+ * as soon as the outbox transaction commits.
  * 
  * This ensures:
  * - Events survive application restarts
@@ -31,22 +35,37 @@ import java.util.concurrent.CompletableFuture;
 public class KafkaEventProducer {
     
     private final EventOutboxRepository outboxRepository;
-    private final ObjectMapper objectMapper;
+    private final EventCodecRegistry codecRegistry;
     private final MetricsRegistry metricsRegistry;
     private final ContractRegistry contractRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecentEventIdFilter recentEventIds;
+    private final OutboxGroupCommitWriter groupCommitWriter;
+    private final OutboxBacklogTracker backlogTracker;
+    private final JdbcTemplate jdbcTemplate;
     
     @Value("${controlplane.kafka.dispatcher.max-retries:5}")
     private int maxRetries;
     
     public KafkaEventProducer(
             EventOutboxRepository outboxRepository,
-            ObjectMapper objectMapper,
+            EventCodecRegistry codecRegistry,
             MetricsRegistry metricsRegistry,
-            ContractRegistry contractRegistry) {
+            ContractRegistry contractRegistry,
+            ApplicationEventPublisher eventPublisher,
+            RecentEventIdFilter recentEventIds,
+            OutboxGroupCommitWriter groupCommitWriter,
+            OutboxBacklogTracker backlogTracker,
+            JdbcTemplate jdbcTemplate) {
         this.outboxRepository = outboxRepository;
-        this.objectMapper = objectMapper;
+        this.codecRegistry = codecRegistry;
         this.metricsRegistry = metricsRegistry;
         this.contractRegistry = contractRegistry;
+        this.eventPublisher = eventPublisher;
+        this.recentEventIds = recentEventIds;
+        this.groupCommitWriter = groupCommitWriter;
+        this.backlogTracker = backlogTracker;
+        this.jdbcTemplate = jdbcTemplate;
         log.info("Kafka event producer initialized (outbox pattern)");
     }
     
@@ -63,7 +82,7 @@ public class KafkaEventProducer {
      * Process queued events (no-op - handled by EventDispatcherService).
      */
     public void processQueuedEvents() {
-        // Events are processed by EventDispatcherService on a schedule
+        // Events are processed by EventDispatcherService when woken or on its fallback poll
         // This method exists for compatibility but doesn't need to do anything
         log.debug("processQueuedEvents called - handled by EventDispatcherService");
     }
@@ -71,40 +90,84 @@ public class KafkaEventProducer {
     /**
      * Emit a failure event.
      * Event is persisted to outbox for reliable delivery.
+     * 
+     * In group-commit mode the entry is buffered and written together with
+     * other entries by {@link OutboxGroupCommitWriter}; the returned future
+     * completes once that batch has committed. The write is then no longer
+     * part of the caller's transaction.
      */
     @Transactional
     public CompletableFuture<Boolean> emit(FailureEvent event) {
         log.info("Emitting event: {} for system {}", event.eventType(), event.system());
         
         try {
-            // Check for duplicate (idempotency)
-            if (outboxRepository.existsByEventId(event.eventId())) {
-                log.warn("Duplicate event detected, skipping: {}", event.eventId());
-                metricsRegistry.incrementCounter("kafka.events.duplicate");
-                return CompletableFuture.completedFuture(true);
+            // Check for duplicate (idempotency). Only IDs this instance wrote
+            // recently need the DB lookup; the unique constraint covers the rest.
+            if (recentEventIds.mightContain(event.eventId())) {
+                metricsRegistry.incrementCounter("kafka.events.dedup_filter", "result", "hit");
+                if (outboxRepository.existsByEventId(event.eventId())) {
+                    log.warn("Duplicate event detected, skipping: {}", event.eventId());
+                    metricsRegistry.incrementCounter("kafka.events.duplicate");
+                    return CompletableFuture.completedFuture(true);
+                }
+            } else {
+                metricsRegistry.incrementCounter("kafka.events.dedup_filter", "result", "miss");
             }
             
-            // Serialize event to JSON
-            String payload = objectMapper.writeValueAsString(event);
+            // Serialize once; the dispatcher forwards these bytes unchanged
+            EventCodec codec = codecRegistry.active();
+            byte[] encoded = codec.encode(event);
             
             // Create outbox entry
+            Instant now = Instant.now();
             EventOutboxEntity outboxEntry = EventOutboxEntity.builder()
                 .id(UUID.randomUUID().toString())
                 .eventId(event.eventId())
                 .eventType(event.eventType().name())
                 .systemType(event.system())
-                .payload(payload)
+                .payload(codec.isTextual() ? new String(encoded, StandardCharsets.UTF_8) : null)
+                .payloadBinary(codec.isTextual() ? null : encoded)
+                .payloadCodec(codec.name())
+                .schemaVersion(FailureEvent.SCHEMA_VERSION)
                 .maxRetries(maxRetries)
+                .createdAt(now)
+                .updatedAt(now)
+                .nextRetryAt(now)
                 .build();
             
-            outboxRepository.save(outboxEntry);
+            if (groupCommitWriter.isEnabled()) {
+                CompletableFuture<Boolean> committed = groupCommitWriter.enqueue(outboxEntry);
+                if (committed != null) {
+                    return committed.whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            recentEventIds.record(event.eventId());
+                        }
+                    });
+                }
+                // Buffer full: write directly
+            }
+            
+            // Joins the caller's transaction; a duplicate inserts nothing instead of failing
+            int inserted = jdbcTemplate.update(OutboxInsertStatement.UPSERT_SQL,
+                ps -> OutboxInsertStatement.bind(ps, outboxEntry));
+            if (inserted == 0) {
+                log.warn("Duplicate event already in outbox, skipping: {}", event.eventId());
+                metricsRegistry.incrementCounter("kafka.events.duplicate");
+                recentEventIds.record(event.eventId());
+                return CompletableFuture.completedFuture(true);
+            }
+            recentEventIds.record(event.eventId());
+            backlogTracker.onInserted(1);
+            
+            // Wake the dispatcher once the outbox row is committed
+            eventPublisher.publishEvent(new OutboxEventQueued(event.eventId(), event.system()));
             
             metricsRegistry.incrementCounter("kafka.events.queued");
             log.debug("Event {} persisted to outbox for dispatch", event.eventId());
             
             return CompletableFuture.completedFuture(true);
             
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             log.error("Failed to serialize event: {}", e.getMessage());
             metricsRegistry.incrementCounter("kafka.events.failed", "reason", "serialization");
             return CompletableFuture.completedFuture(false);
@@ -215,13 +278,13 @@ public class KafkaEventProducer {
      * Get count of pending events in outbox.
      */
     public long getPendingEventCount() {
-        return outboxRepository.countByStatus(EventOutboxEntity.OutboxStatus.PENDING);
+        return backlogTracker.get(EventOutboxEntity.OutboxStatus.PENDING);
     }
     
     /**
      * Get count of DLQ'd events.
      */
     public long getDlqEventCount() {
-        return outboxRepository.countByStatus(EventOutboxEntity.OutboxStatus.DLQ);
+        return backlogTracker.get(EventOutboxEntity.OutboxStatus.DLQ);
     }
 }
@@ -0,0 +1,151 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.platform.controlplane.observability.ControlPlaneMetrics;
+import com.platform.controlplane.persistence.entity.EventOutboxEntity.OutboxStatus;
+import com.platform.controlplane.persistence.repository.EventOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory outbox backlog counters.
+ * 
+ * Counts per status are adjusted on every state change made by this
+ * instance (insert, claim, deliver, retry, DLQ, archive), so gauges and
+ * stats never query the table. Changes made by other replicas are picked up
+ * by a periodic reconcile with a single grouped COUNT query.
+ */
+@Slf4j
+@Component
+public class OutboxBacklogTracker {
+    
+    private final EventOutboxRepository outboxRepository;
+    private final ControlPlaneMetrics controlPlaneMetrics;
+    private final MeterRegistry meterRegistry;
+    private final Map<OutboxStatus, AtomicLong> counts = new EnumMap<>(OutboxStatus.class);
+    
+    public OutboxBacklogTracker(
+            EventOutboxRepository outboxRepository,
+            ControlPlaneMetrics controlPlaneMetrics,
+            MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.controlPlaneMetrics = controlPlaneMetrics;
+        this.meterRegistry = meterRegistry;
+        for (OutboxStatus status : OutboxStatus.values()) {
+            counts.put(status, new AtomicLong(0));
+        }
+    }
+    
+    @PostConstruct
+    public void init() {
+        // Register gauges for observable backlog
+        Gauge.builder("kafka.outbox.pending", counts.get(OutboxStatus.PENDING), AtomicLong::get)
+            .description("Number of pending events in outbox")
+            .register(meterRegistry);
+        
+        Gauge.builder("kafka.outbox.dlq", counts.get(OutboxStatus.DLQ), AtomicLong::get)
+            .description("Number of events in dead-letter queue")
+            .register(meterRegistry);
+        
+        Gauge.builder("kafka.outbox.processing", counts.get(OutboxStatus.PROCESSING), AtomicLong::get)
+            .description("Number of events currently being processed")
+            .register(meterRegistry);
+        
+        Gauge.builder("kafka.outbox.delivered", counts.get(OutboxStatus.DELIVERED), AtomicLong::get)
+            .description("Number of delivered events not yet archived")
+            .register(meterRegistry);
+        
+        // Initial count
+        reconcile();
+    }
+    
+    /**
+     * Reset counters from the database with one grouped COUNT query.
+     * Read-only, so it may be served by the read replica.
+     */
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${controlplane.kafka.backlog.reconcile-interval-ms:60000}",
+               initialDelayString = "${controlplane.kafka.backlog.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            Map<OutboxStatus, Long> actual = new EnumMap<>(OutboxStatus.class);
+            List<Object[]> rows = outboxRepository.countByStatusGrouped();
+            for (Object[] row : rows) {
+                actual.put((OutboxStatus) row[0], ((Number) row[1]).longValue());
+            }
+            
+            for (OutboxStatus status : OutboxStatus.values()) {
+                long value = actual.getOrDefault(status, 0L);
+                long previous = counts.get(status).getAndSet(value);
+                if (previous != value) {
+                    log.debug("Outbox {} count reconciled: {} -> {}", status, previous, value);
+                }
+            }
+            publish();
+        } catch (Exception e) {
+            log.warn("Failed to reconcile outbox backlog counts: {}", e.getMessage());
+        }
+    }
+    
+    public void onInserted(int count) {
+        adjust(null, OutboxStatus.PENDING, count);
+    }
+    
+    public void onClaimed(int count) {
+        adjust(OutboxStatus.PENDING, OutboxStatus.PROCESSING, count);
+    }
+    
+    public void onDelivered(int count) {
+        adjust(OutboxStatus.PROCESSING, OutboxStatus.DELIVERED, count);
+    }
+    
+    /**
+     * Claimed events returned to PENDING (retry scheduled, deferred, or lease expired).
+     */
+    public void onReleased(int count) {
+        adjust(OutboxStatus.PROCESSING, OutboxStatus.PENDING, count);
+    }
+    
+    public void onMovedToDlq(int count) {
+        adjust(OutboxStatus.PROCESSING, OutboxStatus.DLQ, count);
+    }
+    
+    public void onDlqRetried(int count) {
+        adjust(OutboxStatus.DLQ, OutboxStatus.PENDING, count);
+    }
+    
+    public void onArchived(int count) {
+        adjust(OutboxStatus.DELIVERED, null, count);
+    }
+    
+    public long get(OutboxStatus status) {
+        return counts.get(status).get();
+    }
+    
+    private void adjust(OutboxStatus from, OutboxStatus to, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (from != null) {
+            counts.get(from).updateAndGet(v -> Math.max(0, v - count));
+        }
+        if (to != null) {
+            counts.get(to).addAndGet(count);
+        }
+        publish();
+    }
+    
+    private void publish() {
+        controlPlaneMetrics.setKafkaOutboxPending((int) get(OutboxStatus.PENDING));
+        controlPlaneMetrics.setKafkaOutboxDlq((int) get(OutboxStatus.DLQ));
+    }
+}
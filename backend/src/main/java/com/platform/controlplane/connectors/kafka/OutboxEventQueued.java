@@ -0,0 +1,7 @@
+package com.platform.controlplane.connectors.kafka;
+
+/**
+ * Application event published when a failure event is written to the outbox.
+ * Listeners bound to the transaction phase see it only after the outbox row commits.
+ */
+public record OutboxEventQueued(String eventId, String systemType) {}
@@ -0,0 +1,226 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.platform.controlplane.observability.MetricsRegistry;
+import com.platform.controlplane.persistence.entity.EventOutboxEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer that group-commits outbox inserts.
+ * 
+ * Callers enqueue entries into a bounded buffer. A single writer thread
+ * flushes them as one JDBC batch insert in one transaction, either when
+ * max-batch-size entries are buffered or flush-interval-ms after the first
+ * one arrived. A burst of N events therefore costs one commit instead of N.
+ * 
+ * Each caller's future completes only after its batch has committed, so
+ * an event acknowledged by the producer is always durable in the outbox.
+ */
+@Slf4j
+@Component
+public class OutboxGroupCommitWriter {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricsRegistry metricsRegistry;
+    private final OutboxBacklogTracker backlogTracker;
+    
+    @Value("${controlplane.kafka.group-commit.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${controlplane.kafka.group-commit.max-batch-size:100}")
+    private int maxBatchSize;
+    
+    @Value("${controlplane.kafka.group-commit.flush-interval-ms:5}")
+    private long flushIntervalMs;
+    
+    private final BlockingQueue<PendingWrite> buffer;
+    private volatile boolean running = false;
+    private Thread writerThread;
+    
+    public OutboxGroupCommitWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MetricsRegistry metricsRegistry,
+            OutboxBacklogTracker backlogTracker,
+            @Value("${controlplane.kafka.group-commit.buffer-capacity:1000}") int bufferCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.metricsRegistry = metricsRegistry;
+        this.backlogTracker = backlogTracker;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+    
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriteLoop, "outbox-group-commit");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Outbox group commit enabled (maxBatchSize={}, flushIntervalMs={}, capacity={})",
+            maxBatchSize, flushIntervalMs, buffer.remainingCapacity());
+    }
+    
+    /**
+     * Stop the writer and flush whatever is still buffered.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        List<PendingWrite> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Flushing {} buffered outbox writes on shutdown", remaining.size());
+            flush(remaining);
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Buffer an outbox entry for the next group commit.
+     * 
+     * @return a future completed once the entry is committed, or null if the
+     *         buffer is full and the caller should write the entry itself
+     */
+    public CompletableFuture<Boolean> enqueue(EventOutboxEntity entry) {
+        PendingWrite write = new PendingWrite(entry, new CompletableFuture<>());
+        if (!running || !buffer.offer(write)) {
+            metricsRegistry.incrementCounter("kafka.outbox.group_commit.overflow");
+            return null;
+        }
+        return write.future();
+    }
+    
+    private void runWriteLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingWrite first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                
+                // Linger briefly so a burst lands in one commit
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < maxBatchSize) {
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        buffer.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    PendingWrite next = buffer.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                
+                flush(batch);
+                
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Insert a batch in one transaction and complete its futures.
+     */
+    private void flush(List<PendingWrite> batch) {
+        long startTime = System.currentTimeMillis();
+        
+        int inserted;
+        try {
+            inserted = transactionTemplate.execute(status -> insertedRows(
+                jdbcTemplate.batchUpdate(OutboxInsertStatement.UPSERT_SQL, batch, batch.size(),
+                    (ps, write) -> OutboxInsertStatement.bind(ps, write.entry())),
+                batch));
+        } catch (Exception e) {
+            log.error("Group commit of {} outbox entries failed: {}", batch.size(), e.getMessage());
+            metricsRegistry.incrementCounter("kafka.events.failed", "reason", "group_commit");
+            batch.forEach(write -> write.future().completeExceptionally(e));
+            return;
+        }
+        
+        long latency = System.currentTimeMillis() - startTime;
+        metricsRegistry.recordLatency("kafka.outbox", "group_commit", latency);
+        metricsRegistry.incrementCounter("kafka.outbox.group_commit.batches");
+        backlogTracker.onInserted(inserted);
+        log.debug("Group-committed {} outbox entries ({} new) in {}ms", batch.size(), inserted, latency);
+        
+        for (PendingWrite write : batch) {
+            EventOutboxEntity entry = write.entry();
+            metricsRegistry.incrementCounter("kafka.events.queued");
+            eventPublisher.publishEvent(new OutboxEventQueued(entry.getEventId(), entry.getSystemType()));
+            write.future().complete(true);
+        }
+    }
+    
+    /**
+     * Rows of a batch actually inserted; duplicates report 0 affected rows.
+     * A batch rewritten into one multi-row INSERT has no per-row counts, so
+     * its rows are then counted by id in the same transaction.
+     */
+    private int insertedRows(int[][] counts, List<PendingWrite> batch) {
+        int inserted = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    return countStored(batch);
+                }
+                inserted += count;
+            }
+        }
+        return inserted;
+    }
+    
+    private int countStored(List<PendingWrite> batch) {
+        String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+        Integer stored = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM event_outbox WHERE id IN (" + placeholders + ")",
+            Integer.class,
+            batch.stream().map(write -> write.entry().getId()).toArray());
+        return stored != null ? stored : 0;
+    }
+    
+    private record PendingWrite(EventOutboxEntity entry, CompletableFuture<Boolean> future) {}
+}
@@ -0,0 +1,55 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.platform.controlplane.persistence.entity.EventOutboxEntity;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Plain JDBC insert of an outbox entry, shared by the direct and
+ * group-commit write paths.
+ * 
+ * Duplicates are skipped by the statement itself rather than surfacing as
+ * a constraint violation, which would mark the surrounding transaction
+ * rollback-only once it passed through a transactional repository.
+ */
+final class OutboxInsertStatement {
+    
+    private static final String COLUMNS =
+        "(id, event_id, event_type, system_type, payload, payload_binary, " +
+        "payload_codec, schema_version, status, retry_count, max_retries, next_retry_at, " +
+        "created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    /**
+     * Insert; an existing row is left untouched. With useAffectedRows (see
+     * the datasource properties) a duplicate reports 0 affected rows.
+     */
+    static final String UPSERT_SQL = "INSERT INTO event_outbox " + COLUMNS + " ON DUPLICATE KEY UPDATE id = id";
+    
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    
+    private OutboxInsertStatement() {
+    }
+    
+    static void bind(PreparedStatement ps, EventOutboxEntity entry) throws SQLException {
+        ps.setString(1, entry.getId());
+        ps.setString(2, entry.getEventId());
+        ps.setString(3, entry.getEventType());
+        ps.setString(4, entry.getSystemType());
+        ps.setString(5, entry.getPayload());
+        ps.setBytes(6, entry.getPayloadBinary());
+        ps.setString(7, entry.getPayloadCodec());
+        ps.setInt(8, entry.getSchemaVersion());
+        ps.setString(9, entry.getStatus().name());
+        ps.setInt(10, entry.getRetryCount());
+        ps.setInt(11, entry.getMaxRetries());
+        ps.setTimestamp(12, Timestamp.from(entry.getNextRetryAt()), UTC);
+        ps.setTimestamp(13, Timestamp.from(entry.getCreatedAt()), UTC);
+        ps.setTimestamp(14, Timestamp.from(entry.getUpdatedAt()), UTC);
+        ps.setLong(15, 0L);
+    }
+}
@@ -0,0 +1,273 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.platform.controlplane.cluster.LeaderElectionService;
+import com.platform.controlplane.error.StaleLeaderException;
+import com.platform.controlplane.observability.MetricsRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retention for the event outbox.
+ * 
+ * Keeps event_outbox small so dispatch queries stay fast:
+ * 1. Moves DELIVERED rows older than archive-after into event_outbox_archive,
+ *    in small chunks with a pause between them so the hot table never sees
+ *    one large DELETE
+ * 2. Keeps daily partitions of the archive created ahead of time
+ * 3. Drops whole archive partitions once they are older than retention-days
+ * 
+ * Exposes rows archived/purged counters and table size gauges.
+ */
+@Slf4j
+@Service
+public class OutboxRetentionService {
+    
+    private static final String ARCHIVE_TABLE = "event_outbox_archive";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsRegistry metricsRegistry;
+    private final MeterRegistry meterRegistry;
+    private final OutboxBacklogTracker backlogTracker;
+    private final LeaderElectionService leaderElection;
+    
+    @Value("${controlplane.kafka.retention.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${controlplane.kafka.retention.archive-after:1h}")
+    private Duration archiveAfter;
+    
+    @Value("${controlplane.kafka.retention.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${controlplane.kafka.retention.chunk-pause-ms:50}")
+    private long chunkPauseMs;
+    
+    @Value("${controlplane.kafka.retention.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+    
+    @Value("${controlplane.kafka.retention.retention-days:7}")
+    private int retentionDays;
+    
+    @Value("${controlplane.kafka.retention.partitions-ahead-days:3}")
+    private int partitionsAheadDays;
+    
+    // Table size gauges
+    private final AtomicLong outboxRows = new AtomicLong(0);
+    private final AtomicLong outboxBytes = new AtomicLong(0);
+    private final AtomicLong archiveRows = new AtomicLong(0);
+    private final AtomicLong archiveBytes = new AtomicLong(0);
+    
+    public OutboxRetentionService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MetricsRegistry metricsRegistry,
+            MeterRegistry meterRegistry,
+            OutboxBacklogTracker backlogTracker,
+            LeaderElectionService leaderElection) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metricsRegistry = metricsRegistry;
+        this.meterRegistry = meterRegistry;
+        this.backlogTracker = backlogTracker;
+        this.leaderElection = leaderElection;
+    }
+    
+    @PostConstruct
+    public void init() {
+        registerTableGauges("event_outbox", outboxRows, outboxBytes);
+        registerTableGauges(ARCHIVE_TABLE, archiveRows, archiveBytes);
+        
+        log.info("Outbox retention initialized (enabled={}, archiveAfter={}, retentionDays={})",
+            enabled, archiveAfter, retentionDays);
+    }
+    
+    private void registerTableGauges(String table, AtomicLong rows, AtomicLong bytes) {
+        Gauge.builder("kafka.outbox.table.rows", rows, AtomicLong::get)
+            .tag("table", table)
+            .description("Approximate row count of the outbox table")
+            .register(meterRegistry);
+        
+        Gauge.builder("kafka.outbox.table.bytes", bytes, AtomicLong::get)
+            .tag("table", table)
+            .description("Data plus index size of the outbox table")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Retention cycle - partition maintenance, archiving, then size refresh.
+     * Runs on the leader only.
+     */
+    @Scheduled(fixedDelayString = "${controlplane.kafka.retention.interval-ms:60000}",
+               initialDelayString = "${controlplane.kafka.retention.initial-delay-ms:30000}")
+    public void runRetention() {
+        if (!enabled || !leaderElection.isLeader()) {
+            return;
+        }
+        
+        long fencingToken = leaderElection.getFencingToken();
+        try {
+            maintainPartitions(fencingToken);
+            archiveDeliveredEvents(fencingToken);
+            refreshTableSizes();
+        } catch (StaleLeaderException e) {
+            log.warn("Leader lease taken over during outbox retention, stopping cycle: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Error in outbox retention cycle: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Move delivered events into the archive in rate-limited chunks.
+     * Each chunk is fenced by the leader lease term the cycle started in.
+     * 
+     * @return number of rows moved
+     */
+    public int archiveDeliveredEvents(long fencingToken) {
+        int totalMoved = 0;
+        
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer moved = transactionTemplate.execute(status -> {
+                leaderElection.checkFencingToken(fencingToken);
+                return archiveChunk();
+            });
+            if (moved == null || moved == 0) {
+                break;
+            }
+            totalMoved += moved;
+            backlogTracker.onArchived(moved);
+            
+            if (moved < chunkSize) {
+                break;
+            }
+            
+            try {
+                Thread.sleep(chunkPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        
+        if (totalMoved > 0) {
+            meterRegistry.counter("kafka.outbox.retention.archived").increment(totalMoved);
+            log.info("Archived {} delivered outbox events older than {}", totalMoved, archiveAfter);
+        }
+        return totalMoved;
+    }
+    
+    private int archiveChunk() {
+        // Cutoff is computed by MySQL so it compares in the same time zone the rows were written in
+        List<String> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM event_outbox " +
+            "WHERE status = 'DELIVERED' AND delivered_at < NOW(6) - INTERVAL :ageSeconds SECOND " +
+            "ORDER BY delivered_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED",
+            new MapSqlParameterSource()
+                .addValue("ageSeconds", archiveAfter.toSeconds())
+                .addValue("limit", chunkSize),
+            String.class);
+        
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update(
+            "INSERT INTO " + ARCHIVE_TABLE + " " +
+            "(id, event_id, event_type, system_type, payload, payload_binary, payload_codec, schema_version, " +
+            "status, retry_count, created_at, delivered_at) " +
+            "SELECT id, event_id, event_type, system_type, payload, payload_binary, payload_codec, schema_version, " +
+            "status, retry_count, created_at, delivered_at " +
+            "FROM event_outbox WHERE id IN (:ids)",
+            params);
+        return jdbcTemplate.update("DELETE FROM event_outbox WHERE id IN (:ids)", params);
+    }
+    
+    /**
+     * Create upcoming daily partitions and drop expired ones.
+     * DDL commits implicitly, so each partition change is preceded by a
+     * point-in-time check of the leader lease term.
+     */
+    public void maintainPartitions(long fencingToken) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        TreeMap<LocalDate, String> dayPartitions = loadDayPartitions();
+        
+        // Add partitions after the newest existing one, up to partitions-ahead-days
+        LocalDate newest = dayPartitions.isEmpty() ? today.minusDays(1) : dayPartitions.lastKey();
+        for (LocalDate day = newest.plusDays(1); !day.isAfter(today.plusDays(partitionsAheadDays)); day = day.plusDays(1)) {
+            String name = day.format(PARTITION_FORMAT);
+            leaderElection.checkFencingToken(fencingToken);
+            jdbcTemplate.getJdbcTemplate().execute(
+                "ALTER TABLE " + ARCHIVE_TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                "PARTITION " + name + " VALUES LESS THAN (TO_DAYS('" + day.plusDays(1) + "')), " +
+                "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            log.info("Created outbox archive partition {}", name);
+        }
+        
+        // Drop whole partitions past retention
+        LocalDate expiry = today.minusDays(retentionDays);
+        for (Map.Entry<LocalDate, String> partition : dayPartitions.headMap(expiry).entrySet()) {
+            String name = partition.getValue();
+            leaderElection.checkFencingToken(fencingToken);
+            Long rows = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM " + ARCHIVE_TABLE + " PARTITION (" + name + ")", Long.class);
+            jdbcTemplate.getJdbcTemplate().execute(
+                "ALTER TABLE " + ARCHIVE_TABLE + " DROP PARTITION " + name);
+            
+            long purged = rows != null ? rows : 0;
+            meterRegistry.counter("kafka.outbox.retention.purged").increment(purged);
+            metricsRegistry.incrementCounter("kafka.outbox.retention.partitions_dropped");
+            log.info("Dropped outbox archive partition {} ({} rows)", name, purged);
+        }
+    }
+    
+    private TreeMap<LocalDate, String> loadDayPartitions() {
+        List<String> names = jdbcTemplate.getJdbcTemplate().queryForList(
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+            String.class, ARCHIVE_TABLE);
+        
+        TreeMap<LocalDate, String> partitions = new TreeMap<>();
+        for (String name : names) {
+            if (!FUTURE_PARTITION.equals(name)) {
+                partitions.put(LocalDate.parse(name, PARTITION_FORMAT), name);
+            }
+        }
+        return partitions;
+    }
+    
+    /**
+     * Refresh table size gauges from information_schema (no table scans).
+     */
+    public void refreshTableSizes() {
+        jdbcTemplate.getJdbcTemplate().query(
+            "SELECT TABLE_NAME, TABLE_ROWS, DATA_LENGTH + INDEX_LENGTH AS SIZE_BYTES " +
+            "FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME IN ('event_outbox', '" + ARCHIVE_TABLE + "')",
+            rs -> {
+                boolean archive = ARCHIVE_TABLE.equals(rs.getString("TABLE_NAME"));
+                (archive ? archiveRows : outboxRows).set(rs.getLong("TABLE_ROWS"));
+                (archive ? archiveBytes : outboxBytes).set(rs.getLong("SIZE_BYTES"));
+            });
+    }
+}
@@ -0,0 +1,80 @@
+package com.platform.controlplane.connectors.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, time-windowed record of event IDs recently written to the outbox.
+ * 
+ * Lets the emit path skip the existsByEventId query for IDs this instance
+ * has never seen. A miss means "new as far as this instance knows"; IDs
+ * written by other replicas or before a restart are caught by the unique
+ * constraint on event_id, which stays the final guard.
+ */
+@Slf4j
+@Component
+public class RecentEventIdFilter {
+    
+    private final int maxEntries;
+    private final long windowMs;
+    
+    // Insertion-ordered, so the eldest entry is always the oldest write
+    private final LinkedHashMap<String, Long> recentIds = new LinkedHashMap<>();
+    
+    public RecentEventIdFilter(
+            @Value("${controlplane.kafka.dedup.max-entries:10000}") int maxEntries,
+            @Value("${controlplane.kafka.dedup.window:10m}") Duration window) {
+        this.maxEntries = maxEntries;
+        this.windowMs = window.toMillis();
+        log.info("Recent event ID filter initialized (maxEntries={}, window={})", maxEntries, window);
+    }
+    
+    /**
+     * Check whether an event ID may already be in the outbox.
+     * 
+     * @return false if this instance has not written the ID within the window
+     */
+    public synchronized boolean mightContain(String eventId) {
+        evictExpired(System.currentTimeMillis());
+        return recentIds.containsKey(eventId);
+    }
+    
+    /**
+     * Remember an event ID after it has been written to the outbox.
+     */
+    public synchronized void record(String eventId) {
+        long now = System.currentTimeMillis();
+        recentIds.remove(eventId);
+        recentIds.put(eventId, now);
+        evictExpired(now);
+        
+        while (recentIds.size() > maxEntries) {
+            Iterator<String> eldest = recentIds.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+    
+    /**
+     * Number of IDs currently tracked.
+     */
+    public synchronized int size() {
+        return recentIds.size();
+    }
+    
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Long>> it = recentIds.entrySet().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().getValue() <= windowMs) {
+                break;
+            }
+            it.remove();
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -40,6 +41,7 @@ public class ClusterMySQLConnector implements MySQLConnector {
     private final AtomicReference<ConnectionStatus> currentStatus;
     private final AtomicReference<TopologyInfo> currentTopology;
     private final Map<String, HikariDataSource> nodeDataSources;
+    private final Map<String, MySQLProbeConnection> nodeProbes;
     private final AtomicReference<String> currentPrimary;
     
     @Value("${controlplane.mysql.cluster.nodes:localhost:3306,localhost:3307,localhost:3308}")
@@ -54,12 +56,16 @@ public class ClusterMySQLConnector implements MySQLConnector {
     @Value("${controlplane.mysql.cluster.database:controlplane}")
     private String database;
     
+    @Value("${controlplane.health-probe.deadline-ms:3000}")
+    private long probeDeadlineMs;
+    
     public ClusterMySQLConnector(MetricsRegistry metricsRegistry, SystemStateMachine stateMachine) {
         this.metricsRegistry = metricsRegistry;
         this.stateMachine = stateMachine;
         this.currentStatus = new AtomicReference<>(ConnectionStatus.unknown("mysql"));
         this.currentTopology = new AtomicReference<>(TopologyInfo.unknown("mysql"));
         this.nodeDataSources = new ConcurrentHashMap<>();
+        this.nodeProbes = new ConcurrentHashMap<>();
         this.currentPrimary = new AtomicReference<>();
         stateMachine.initialize("mysql");
     }
@@ -84,6 +90,11 @@ public class ClusterMySQLConnector implements MySQLConnector {
                 try {
                     HikariDataSource ds = createDataSource(host, port);
                     nodeDataSources.put(node.trim(), ds);
+                    MySQLProbeConnection previousProbe = nodeProbes.put(node.trim(), new MySQLProbeConnection(
+                        node.trim(), nodeUrl(host, port), username, password, probeDeadlineMs));
+                    if (previousProbe != null) {
+                        previousProbe.close();
+                    }
                     
                     // Verify connection
                     try (Connection conn = ds.getConnection()) {
@@ -128,11 +139,9 @@ public class ClusterMySQLConnector implements MySQLConnector {
     }
     
     private HikariDataSource createDataSource(String host, int port) {
-        String url = String.format("jdbc:mysql://%s:%d/%s", host, port, database);
-        
         HikariConfig config = new HikariConfig();
         config.setPoolName("MySQL-Cluster-" + host + "-" + port);
-        config.setJdbcUrl(url);
+        config.setJdbcUrl(nodeUrl(host, port));
         config.setUsername(username);
         config.setPassword(password);
         config.setMinimumIdle(1);
@@ -144,6 +153,10 @@ public class ClusterMySQLConnector implements MySQLConnector {
         return new HikariDataSource(config);
     }
     
+    private String nodeUrl(String host, int port) {
+        return String.format("jdbc:mysql://%s:%d/%s", host, port, database);
+    }
+    
     private boolean isPrimaryNode(Connection conn) {
         try (Statement stmt = conn.createStatement()) {
             // Check for Group Replication primary
@@ -180,16 +193,14 @@ public class ClusterMySQLConnector implements MySQLConnector {
     public ConnectionStatus healthCheck() {
         long startTime = System.currentTimeMillis();
         int healthyNodes = 0;
-        int totalNodes = nodeDataSources.size();
+        int totalNodes = nodeProbes.size();
         List<String> errors = new ArrayList<>();
         
-        for (Map.Entry<String, HikariDataSource> entry : nodeDataSources.entrySet()) {
-            try (Connection conn = entry.getValue().getConnection();
-                 Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT 1")) {
-                if (rs.next()) {
-                    healthyNodes++;
-                }
+        // Dedicated probe connections, so a saturated node pool cannot skew the result
+        for (Map.Entry<String, MySQLProbeConnection> entry : nodeProbes.entrySet()) {
+            try {
+                entry.getValue().ping();
+                healthyNodes++;
             } catch (Exception e) {
                 errors.add(entry.getKey() + ": " + e.getMessage());
             }
@@ -213,6 +224,22 @@ public class ClusterMySQLConnector implements MySQLConnector {
         return status;
     }
     
+    @Override
+    public String replicationFingerprint() {
+        // Secondaries run with super_read_only, so a primary change flips the flags
+        StringBuilder fingerprint = new StringBuilder();
+        new TreeMap<>(nodeProbes).forEach((node, probe) -> {
+            String readOnly;
+            try {
+                readOnly = probe.queryValue("SELECT @@super_read_only");
+            } catch (Exception e) {
+                readOnly = "down";
+            }
+            fingerprint.append(node).append('=').append(readOnly).append(',');
+        });
+        return fingerprint.toString();
+    }
+    
     @SuppressWarnings("unused")
     private ConnectionStatus healthCheckFallback(Exception e) {
         return ConnectionStatus.down("mysql", "Circuit breaker open");
@@ -325,6 +352,8 @@ public class ClusterMySQLConnector implements MySQLConnector {
             } catch (Exception ignored) {}
         }
         nodeDataSources.clear();
+        nodeProbes.values().forEach(MySQLProbeConnection::close);
+        nodeProbes.clear();
         currentPrimary.set(null);
         currentStatus.set(ConnectionStatus.unknown("mysql"));
     }
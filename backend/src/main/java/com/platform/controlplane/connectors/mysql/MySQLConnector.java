@@ -62,4 +62,14 @@ public interface MySQLConnector {
      * @return true if query succeeds
      */
     boolean validateConnection();
+    
+    /**
+     * Cheap fingerprint of the replication state (node reachability and
+     * read-only flags), read over the probe connections. A change means a
+     * full topology detection is due.
+     * @return fingerprint, or null if not supported
+     */
+    default String replicationFingerprint() {
+        return null;
+    }
 }
@@ -0,0 +1,117 @@
+package com.platform.controlplane.connectors.mysql;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Persistent, pre-authenticated connection used only for health probes.
+ *
+ * Lives outside the Hikari pools, so probes neither queue behind a saturated
+ * pool nor take connections away from application traffic, and keep working
+ * when the pool is exhausted.
+ *
+ * Features:
+ * - One connection per node, opened lazily and reopened after a failure
+ * - Connection.isValid ping (sent by Connector/J as a lightweight ping)
+ * - Latency measured on the ping only, excluding connection setup
+ * - Connect and socket timeouts bounded by the probe deadline
+ * - Single-value queries for cheap replication-state watches
+ */
+@Slf4j
+public class MySQLProbeConnection implements AutoCloseable {
+    
+    private final String name;
+    private final String jdbcUrl;
+    private final Properties properties;
+    private final int timeoutSeconds;
+    
+    private Connection connection;
+    
+    public MySQLProbeConnection(String name, String jdbcUrl, String username, String password, long timeoutMs) {
+        this.name = name;
+        this.jdbcUrl = jdbcUrl;
+        this.timeoutSeconds = (int) Math.max(1, (timeoutMs + 999) / 1000);
+        
+        this.properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("connectTimeout", String.valueOf(timeoutMs));
+        properties.setProperty("socketTimeout", String.valueOf(timeoutMs));
+        properties.setProperty("tcpKeepAlive", "true");
+    }
+    
+    /**
+     * Ping the node.
+     * A broken connection is reopened once before the probe is failed.
+     *
+     * @return round-trip latency of the ping in milliseconds
+     * @throws SQLException if the node cannot be reached or does not answer
+     */
+    public synchronized long ping() throws SQLException {
+        if (connection != null) {
+            long startTime = System.nanoTime();
+            if (connection.isValid(timeoutSeconds)) {
+                return (System.nanoTime() - startTime) / 1_000_000;
+            }
+            log.debug("Probe connection to {} is stale, reconnecting", name);
+            closeQuietly();
+        }
+        
+        connection = DriverManager.getConnection(jdbcUrl, properties);
+        
+        long startTime = System.nanoTime();
+        if (!connection.isValid(timeoutSeconds)) {
+            closeQuietly();
+            throw new SQLException(name + " did not answer ping within " + timeoutSeconds + "s");
+        }
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+    
+    /**
+     * Run a query returning a single value over the probe connection.
+     *
+     * @return first column of the first row, or null if there is no row
+     * @throws SQLException if the node cannot be reached or the query fails
+     */
+    public synchronized String queryValue(String sql) throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = DriverManager.getConnection(jdbcUrl, properties);
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.setQueryTimeout(timeoutSeconds);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public synchronized void close() {
+        closeQuietly();
+    }
+    
+    private void closeQuietly() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Error closing probe connection to {}: {}", name, e.getMessage());
+        }
+        connection = null;
+    }
+}
@@ -11,6 +11,7 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -22,6 +23,10 @@ import java.sql.Statement;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -39,6 +44,8 @@ public class ReplicationMySQLConnector implements MySQLConnector {
     private final AtomicReference<TopologyInfo> currentTopology;
     private final AtomicReference<HikariDataSource> primaryDataSource;
     private final AtomicReference<HikariDataSource> replicaDataSource;
+    private final AtomicReference<MySQLProbeConnection> primaryProbe;
+    private final AtomicReference<MySQLProbeConnection> replicaProbe;
     
     @Value("${controlplane.mysql.primary.url:jdbc:mysql://localhost:3306/controlplane}")
     private String primaryUrl;
@@ -52,6 +59,16 @@ public class ReplicationMySQLConnector implements MySQLConnector {
     @Value("${spring.datasource.password:password}")
     private String password;
     
+    @Value("${controlplane.health-probe.deadline-ms:3000}")
+    private long probeDeadlineMs;
+    
+    // One thread per node so a hung node cannot delay the other probe
+    private final ExecutorService probeExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "mysql-node-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
     public ReplicationMySQLConnector(MetricsRegistry metricsRegistry, SystemStateMachine stateMachine) {
         this.metricsRegistry = metricsRegistry;
         this.stateMachine = stateMachine;
@@ -59,6 +76,8 @@ public class ReplicationMySQLConnector implements MySQLConnector {
         this.currentTopology = new AtomicReference<>(TopologyInfo.unknown("mysql"));
         this.primaryDataSource = new AtomicReference<>();
         this.replicaDataSource = new AtomicReference<>();
+        this.primaryProbe = new AtomicReference<>();
+        this.replicaProbe = new AtomicReference<>();
         stateMachine.initialize("mysql");
     }
     
@@ -79,6 +98,12 @@ public class ReplicationMySQLConnector implements MySQLConnector {
             HikariDataSource replica = createDataSource("replica", replicaUrl);
             replicaDataSource.set(replica);
             
+            // Dedicated probe connections, opened lazily on first health check
+            closeQuietly(primaryProbe.getAndSet(
+                new MySQLProbeConnection("Primary", primaryUrl, username, password, probeDeadlineMs)));
+            closeQuietly(replicaProbe.getAndSet(
+                new MySQLProbeConnection("Replica", replicaUrl, username, password, probeDeadlineMs)));
+            
             // Validate connections
             try (Connection conn = primary.getConnection()) {
                 if (!conn.isValid(5)) {
@@ -137,31 +162,16 @@ public class ReplicationMySQLConnector implements MySQLConnector {
         List<String> errors = new ArrayList<>();
         int healthyNodes = 0;
         
-        // Check primary
-        HikariDataSource primary = primaryDataSource.get();
-        if (primary != null) {
-            try (Connection conn = primary.getConnection();
-                 Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT 1")) {
-                if (rs.next()) {
-                    healthyNodes++;
-                }
-            } catch (Exception e) {
-                errors.add("Primary: " + e.getMessage());
-            }
-        }
+        // Probe primary and replica concurrently, each bounded by the deadline
+        CompletableFuture<String> primaryResult = probeNode(primaryProbe.get());
+        CompletableFuture<String> replicaResult = probeNode(replicaProbe.get());
         
-        // Check replica
-        HikariDataSource replica = replicaDataSource.get();
-        if (replica != null) {
-            try (Connection conn = replica.getConnection();
-                 Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT 1")) {
-                if (rs.next()) {
-                    healthyNodes++;
-                }
-            } catch (Exception e) {
-                errors.add("Replica: " + e.getMessage());
+        for (CompletableFuture<String> probe : List.of(primaryResult, replicaResult)) {
+            String error = probe.join();
+            if (error == null) {
+                healthyNodes++;
+            } else if (!error.isEmpty()) {
+                errors.add(error);
             }
         }
         
@@ -182,6 +192,46 @@ public class ReplicationMySQLConnector implements MySQLConnector {
         return status;
     }
     
+    @Override
+    public String replicationFingerprint() {
+        // A failover flips read_only on the promoted and demoted nodes
+        return nodeReadOnly(primaryProbe.get()) + "," + nodeReadOnly(replicaProbe.get());
+    }
+    
+    private String nodeReadOnly(MySQLProbeConnection probe) {
+        if (probe == null) {
+            return "none";
+        }
+        try {
+            return probe.getName() + "=" + probe.queryValue("SELECT @@read_only");
+        } catch (Exception e) {
+            return probe.getName() + "=down";
+        }
+    }
+    
+    /**
+     * Ping one node over its dedicated probe connection.
+     * Completes with null when healthy, an empty string when the node is not
+     * configured, or an error description.
+     */
+    private CompletableFuture<String> probeNode(MySQLProbeConnection probe) {
+        if (probe == null) {
+            return CompletableFuture.completedFuture("");
+        }
+        String name = probe.getName();
+        return CompletableFuture.supplyAsync(() -> {
+                try {
+                    long latency = probe.ping();
+                    metricsRegistry.recordLatency("mysql", "probe_" + name.toLowerCase(), latency);
+                    return null;
+                } catch (Exception e) {
+                    return name + ": " + e.getMessage();
+                }
+            }, probeExecutor)
+            .completeOnTimeout(name + ": no response within " + probeDeadlineMs + "ms",
+                probeDeadlineMs, TimeUnit.MILLISECONDS);
+    }
+    
     @SuppressWarnings("unused")
     private ConnectionStatus healthCheckFallback(Exception e) {
         return ConnectionStatus.down("mysql", "Circuit breaker open");
@@ -312,9 +362,25 @@ public class ReplicationMySQLConnector implements MySQLConnector {
             replica.close();
         }
         
+        closeQuietly(primaryProbe.getAndSet(null));
+        closeQuietly(replicaProbe.getAndSet(null));
+        
         currentStatus.set(ConnectionStatus.unknown("mysql"));
     }
     
+    @PreDestroy
+    public void shutdownProbes() {
+        probeExecutor.shutdownNow();
+        closeQuietly(primaryProbe.getAndSet(null));
+        closeQuietly(replicaProbe.getAndSet(null));
+    }
+    
+    private void closeQuietly(MySQLProbeConnection probe) {
+        if (probe != null) {
+            probe.close();
+        }
+    }
+    
     @Override
     public boolean isConnected() {
         return currentStatus.get().isHealthy();
@@ -7,8 +7,10 @@ import com.platform.controlplane.observability.MetricsRegistry;
 import com.platform.controlplane.state.SystemState;
 import com.platform.controlplane.state.SystemStateContext;
 import com.platform.controlplane.state.SystemStateMachine;
+import com.zaxxer.hikari.HikariDataSource;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -39,6 +41,18 @@ public class StandaloneMySQLConnector implements MySQLConnector {
     @Value("${spring.datasource.url}")
     private String jdbcUrl;
     
+    @Value("${spring.datasource.username:root}")
+    private String username;
+    
+    @Value("${spring.datasource.password:password}")
+    private String password;
+    
+    @Value("${controlplane.health-probe.deadline-ms:3000}")
+    private long probeDeadlineMs;
+    
+    // Dedicated probe connection, outside the application pool
+    private MySQLProbeConnection probeConnection;
+    
     public StandaloneMySQLConnector(DataSource dataSource, MetricsRegistry metricsRegistry,
                                       SystemStateMachine stateMachine) {
         this.dataSource = dataSource;
@@ -101,28 +115,22 @@ public class StandaloneMySQLConnector implements MySQLConnector {
     @Override
     @CircuitBreaker(name = "mysql", fallbackMethod = "healthCheckFallback")
     public ConnectionStatus healthCheck() {
-        long startTime = System.currentTimeMillis();
-        
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT 1")) {
+        try {
+            long latency = probeConnection().ping();
             
-            if (rs.next()) {
-                long latency = System.currentTimeMillis() - startTime;
-                
-                // Update latency and ensure we're in CONNECTED state
-                SystemStateContext context = stateMachine.getContext("mysql");
-                if (context.currentState() != SystemState.CONNECTED) {
-                    stateMachine.transition("mysql", SystemState.CONNECTED, "Health check passed");
-                }
-                stateMachine.updateLatency("mysql", latency);
-                
-                ConnectionStatus status = ConnectionStatus.up("mysql", latency, 
-                    getActiveConnections(), getMaxConnections());
-                currentStatus.set(status);
-                metricsRegistry.recordLatency("mysql", "health_check", latency);
-                return status;
+            // Update latency and ensure we're in CONNECTED state
+            SystemStateContext context = stateMachine.getContext("mysql");
+            if (context.currentState() != SystemState.CONNECTED) {
+                stateMachine.transition("mysql", SystemState.CONNECTED, "Health check passed");
             }
+            stateMachine.updateLatency("mysql", latency);
+            
+            ConnectionStatus status = ConnectionStatus.up("mysql", latency, 
+                getActiveConnections(), getMaxConnections());
+            currentStatus.set(status);
+            metricsRegistry.recordLatency("mysql", "health_check", latency);
+            return status;
+            
         } catch (Exception e) {
             log.error("MySQL health check failed: {}", e.getMessage());
             
@@ -137,8 +145,22 @@ public class StandaloneMySQLConnector implements MySQLConnector {
             metricsRegistry.recordConnectionFailure("mysql");
             return status;
         }
-        
-        return ConnectionStatus.unknown("mysql");
+    }
+    
+    @Override
+    public String replicationFingerprint() {
+        try {
+            return "read_only=" + probeConnection().queryValue("SELECT @@read_only");
+        } catch (Exception e) {
+            return "down";
+        }
+    }
+    
+    private synchronized MySQLProbeConnection probeConnection() {
+        if (probeConnection == null) {
+            probeConnection = new MySQLProbeConnection("main", jdbcUrl, username, password, probeDeadlineMs);
+        }
+        return probeConnection;
     }
     
     @SuppressWarnings("unused")
@@ -242,10 +264,18 @@ public class StandaloneMySQLConnector implements MySQLConnector {
         
         // Transition to DISCONNECTED state
         stateMachine.transition("mysql", SystemState.DISCONNECTED, "Manual disconnect");
+        closeProbe();
         
         currentStatus.set(ConnectionStatus.unknown("mysql"));
     }
     
+    @PreDestroy
+    public synchronized void closeProbe() {
+        if (probeConnection != null) {
+            probeConnection.close();
+        }
+    }
+    
     @Override
     public boolean isConnected() {
         return currentStatus.get().isHealthy();
@@ -262,6 +292,10 @@ public class StandaloneMySQLConnector implements MySQLConnector {
     }
     
     private int getActiveConnections() {
+        // Read pool statistics locally when possible instead of borrowing a connection
+        if (dataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+            return hikari.getHikariPoolMXBean().getActiveConnections();
+        }
         try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery("SHOW STATUS LIKE 'Threads_connected'")) {
@@ -273,6 +307,9 @@ public class StandaloneMySQLConnector implements MySQLConnector {
     }
     
     private int getMaxConnections() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
         try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery("SHOW VARIABLES LIKE 'max_connections'")) {
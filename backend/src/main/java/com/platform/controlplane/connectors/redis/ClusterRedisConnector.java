@@ -1,6 +1,7 @@
 package com.platform.controlplane.connectors.redis;
 
 import com.platform.controlplane.model.ConnectionStatus;
+import com.platform.controlplane.model.TopologyChangeSignal;
 import com.platform.controlplane.model.TopologyInfo;
 import com.platform.controlplane.model.TopologyInfo.NodeInfo;
 import com.platform.controlplane.observability.MetricsRegistry;
@@ -15,12 +16,15 @@ import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
 import io.lettuce.core.cluster.RedisClusterClient;
 import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
 import io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands;
+import io.lettuce.core.cluster.event.ClusterTopologyChangedEvent;
 import io.lettuce.core.cluster.models.partitions.ClusterPartitionParser;
 import io.lettuce.core.cluster.models.partitions.Partitions;
 import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PreDestroy;
@@ -32,6 +36,10 @@ import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Redis connector for Cluster setup with slot-based sharding.
+ * 
+ * Lettuce refreshes the cluster topology adaptively (MOVED/ASK redirects,
+ * failed reconnects); its topology-changed events are forwarded as a
+ * TopologyChangeSignal so failovers surface without polling.
  */
 @Slf4j
 @Component
@@ -44,6 +52,8 @@ public class ClusterRedisConnector implements RedisConnector {
     private final AtomicReference<TopologyInfo> currentTopology;
     private final AtomicReference<RedisClusterClient> clusterClient;
     private final AtomicReference<StatefulRedisClusterConnection<String, String>> connection;
+    private final AtomicReference<Disposable> topologyEvents;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Value("${controlplane.redis.cluster.nodes:localhost:7000,localhost:7001,localhost:7002}")
     private String clusterNodes;
@@ -54,9 +64,12 @@ public class ClusterRedisConnector implements RedisConnector {
     @Value("${spring.data.redis.timeout:5000ms}")
     private Duration timeout;
     
-    public ClusterRedisConnector(MetricsRegistry metricsRegistry, SystemStateMachine stateMachine) {
+    public ClusterRedisConnector(MetricsRegistry metricsRegistry, SystemStateMachine stateMachine,
+                                   ApplicationEventPublisher eventPublisher) {
         this.metricsRegistry = metricsRegistry;
         this.stateMachine = stateMachine;
+        this.eventPublisher = eventPublisher;
+        this.topologyEvents = new AtomicReference<>();
         this.currentStatus = new AtomicReference<>(ConnectionStatus.unknown("redis"));
         this.currentTopology = new AtomicReference<>(TopologyInfo.unknown("redis"));
         this.clusterClient = new AtomicReference<>();
@@ -108,6 +121,15 @@ public class ClusterRedisConnector implements RedisConnector {
             client.setOptions(options);
             clusterClient.set(client);
             
+            // Forward Lettuce topology changes instead of polling CLUSTER NODES
+            Disposable previousSubscription = topologyEvents.getAndSet(client.getResources().eventBus().get()
+                .filter(ClusterTopologyChangedEvent.class::isInstance)
+                .subscribe(event -> eventPublisher.publishEvent(
+                    new TopologyChangeSignal("redis", "Cluster topology refreshed"))));
+            if (previousSubscription != null) {
+                previousSubscription.dispose();
+            }
+            
             StatefulRedisClusterConnection<String, String> conn = client.connect();
             connection.set(conn);
             
@@ -164,8 +186,11 @@ public class ClusterRedisConnector implements RedisConnector {
             
             long latency = System.currentTimeMillis() - startTime;
             
-            // Get cluster info
-            TopologyInfo topology = detectRole();
+            // Topology changes are pushed by Lettuce; only detect if nothing is known yet
+            TopologyInfo topology = currentTopology.get();
+            if (topology.topologyType() == TopologyInfo.TopologyType.UNKNOWN) {
+                topology = detectRole();
+            }
             int healthyNodes = (int) topology.nodes().stream()
                 .filter(NodeInfo::isHealthy)
                 .count();
@@ -311,6 +336,11 @@ public class ClusterRedisConnector implements RedisConnector {
         log.info("Disconnecting from Redis Cluster");
         stateMachine.transition("redis", SystemState.DISCONNECTED, "Manual disconnect");
         
+        Disposable subscription = topologyEvents.getAndSet(null);
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        
         StatefulRedisClusterConnection<String, String> conn = connection.getAndSet(null);
         if (conn != null) {
             try {
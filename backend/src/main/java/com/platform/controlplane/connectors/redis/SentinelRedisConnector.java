@@ -1,6 +1,7 @@
 package com.platform.controlplane.connectors.redis;
 
 import com.platform.controlplane.model.ConnectionStatus;
+import com.platform.controlplane.model.TopologyChangeSignal;
 import com.platform.controlplane.model.TopologyInfo;
 import com.platform.controlplane.model.TopologyInfo.NodeInfo;
 import com.platform.controlplane.observability.MetricsRegistry;
@@ -10,26 +11,47 @@ import com.platform.controlplane.state.SystemStateMachine;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
 import io.lettuce.core.sentinel.api.StatefulRedisSentinelConnection;
-import io.lettuce.core.sentinel.api.sync.RedisSentinelCommands;
+import io.lettuce.core.sentinel.api.async.RedisSentinelAsyncCommands;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Redis connector for Sentinel setup with automatic failover detection.
+ * 
+ * Subscribes to the failover channels of every sentinel and raises a
+ * TopologyChangeSignal as soon as one reports a change for our master.
+ * 
+ * Role detection uses persistent connections to all sentinels, created
+ * from one shared ClientResources, queried in parallel. The master is the
+ * address reported by a majority of sentinels.
  */
 @Slf4j
 @Component
@@ -43,6 +65,18 @@ public class SentinelRedisConnector implements RedisConnector {
     private final AtomicReference<RedisClient> redisClient;
     private final AtomicReference<StatefulRedisConnection<String, String>> masterConnection;
     private final AtomicReference<String> currentMaster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final List<StatefulRedisPubSubConnection<String, String>> sentinelSubscriptions;
+    private final Map<String, StatefulRedisSentinelConnection<String, String>> sentinelConnections;
+    
+    // Shared event loops and timers for every client this connector creates
+    private final ClientResources clientResources;
+    private final RedisClient sentinelClient;
+    
+    // Sentinel channels that indicate a master or replica change
+    private static final String[] SENTINEL_EVENT_CHANNELS = {
+        "+switch-master", "+sdown", "-sdown", "+odown", "-odown", "+slave", "+convert-to-slave"
+    };
     
     @Value("${controlplane.redis.sentinel.nodes:localhost:26379}")
     private String sentinelNodes;
@@ -56,9 +90,15 @@ public class SentinelRedisConnector implements RedisConnector {
     @Value("${spring.data.redis.timeout:5000ms}")
     private Duration timeout;
     
-    public SentinelRedisConnector(MetricsRegistry metricsRegistry, SystemStateMachine stateMachine) {
+    public SentinelRedisConnector(MetricsRegistry metricsRegistry, SystemStateMachine stateMachine,
+                                    ApplicationEventPublisher eventPublisher) {
         this.metricsRegistry = metricsRegistry;
         this.stateMachine = stateMachine;
+        this.eventPublisher = eventPublisher;
+        this.sentinelSubscriptions = new CopyOnWriteArrayList<>();
+        this.sentinelConnections = new ConcurrentHashMap<>();
+        this.clientResources = DefaultClientResources.create();
+        this.sentinelClient = RedisClient.create(clientResources);
         this.currentStatus = new AtomicReference<>(ConnectionStatus.unknown("redis"));
         this.currentTopology = new AtomicReference<>(TopologyInfo.unknown("redis"));
         this.redisClient = new AtomicReference<>();
@@ -95,7 +135,7 @@ public class SentinelRedisConnector implements RedisConnector {
                 uriBuilder.withPassword(password.toCharArray());
             }
             
-            RedisClient client = RedisClient.create(uriBuilder.build());
+            RedisClient client = RedisClient.create(clientResources, uriBuilder.build());
             redisClient.set(client);
             
             StatefulRedisConnection<String, String> conn = client.connect();
@@ -117,6 +157,7 @@ public class SentinelRedisConnector implements RedisConnector {
             metricsRegistry.recordLatency("redis", "connect", latency);
             
             log.info("Successfully connected to Redis via Sentinel in {}ms", latency);
+            subscribeToSentinelEvents();
             detectRole();
             return true;
             
@@ -131,6 +172,48 @@ public class SentinelRedisConnector implements RedisConnector {
         }
     }
     
+    /**
+     * Subscribe to the failover channels of every sentinel.
+     * Lettuce re-subscribes automatically after a reconnect.
+     */
+    private void subscribeToSentinelEvents() {
+        for (String node : sentinelNodes.split(",")) {
+            String[] parts = node.trim().split(":");
+            RedisURI sentinelUri = RedisURI.builder()
+                .withHost(parts[0])
+                .withPort(parts.length > 1 ? Integer.parseInt(parts[1]) : 26379)
+                .withTimeout(timeout)
+                .build();
+            
+            try {
+                StatefulRedisPubSubConnection<String, String> pubSub = sentinelClient.connectPubSub(sentinelUri);
+                pubSub.addListener(new RedisPubSubAdapter<>() {
+                    @Override
+                    public void message(String channel, String message) {
+                        onSentinelEvent(channel, message);
+                    }
+                });
+                pubSub.async().subscribe(SENTINEL_EVENT_CHANNELS);
+                sentinelSubscriptions.add(pubSub);
+            } catch (Exception e) {
+                log.warn("Failed to subscribe to sentinel {} events: {}", node.trim(), e.getMessage());
+            }
+        }
+        log.info("Subscribed to failover events on {} sentinels", sentinelSubscriptions.size());
+    }
+    
+    /**
+     * Handle a sentinel event. Runs on a Lettuce I/O thread, so it only
+     * publishes a signal; detection happens asynchronously.
+     */
+    private void onSentinelEvent(String channel, String message) {
+        if (!Arrays.asList(message.split(" ")).contains(masterName)) {
+            return;
+        }
+        log.info("Sentinel event {}: {}", channel, message);
+        eventPublisher.publishEvent(new TopologyChangeSignal("redis", channel + " " + message));
+    }
+    
     @SuppressWarnings("unused")
     private boolean connectFallback(Exception e) {
         log.warn("Redis Sentinel connection circuit breaker triggered: {}", e.getMessage());
@@ -163,8 +246,11 @@ public class SentinelRedisConnector implements RedisConnector {
             
             long latency = System.currentTimeMillis() - startTime;
             
-            // Check if there was a failover
-            TopologyInfo topology = detectRole();
+            // Failovers are pushed by sentinel events; only detect if nothing is known yet
+            TopologyInfo topology = currentTopology.get();
+            if (topology.topologyType() == TopologyInfo.TopologyType.UNKNOWN) {
+                topology = detectRole();
+            }
             int healthyNodes = (int) topology.nodes().stream()
                 .filter(NodeInfo::isHealthy)
                 .count();
@@ -206,74 +292,86 @@ public class SentinelRedisConnector implements RedisConnector {
     public TopologyInfo detectRole() {
         log.debug("Detecting Redis Sentinel topology");
         List<NodeInfo> nodes = new ArrayList<>();
-        String masterAddress = null;
         
         try {
-            // Connect to sentinel to get master info
-            String[] sentinelHostPort = sentinelNodes.split(",")[0].trim().split(":");
-            String sentinelHost = sentinelHostPort[0];
-            int sentinelPort = sentinelHostPort.length > 1 ? Integer.parseInt(sentinelHostPort[1]) : 26379;
-            
-            RedisURI sentinelUri = RedisURI.builder()
-                .withHost(sentinelHost)
-                .withPort(sentinelPort)
-                .withTimeout(timeout)
-                .build();
+            // Ask every sentinel for the master in parallel over the persistent connections
+            Map<String, CompletableFuture<Map<String, String>>> masterQueries = new LinkedHashMap<>();
+            for (String sentinel : sentinelAddresses()) {
+                masterQueries.put(sentinel, querySentinel(sentinel, commands -> commands.master(masterName)));
+            }
             
-            try (RedisClient sentinelClient = RedisClient.create(sentinelUri);
-                 StatefulRedisSentinelConnection<String, String> sentinelConn = sentinelClient.connectSentinel()) {
-                
-                RedisSentinelCommands<String, String> sentinel = sentinelConn.sync();
-                
-                // Get master info
-                Map<String, String> masterInfo = sentinel.master(masterName);
-                if (masterInfo != null) {
-                    String masterHost = masterInfo.get("ip");
-                    int masterPort = Integer.parseInt(masterInfo.getOrDefault("port", "6379"));
-                    masterAddress = masterHost + ":" + masterPort;
-                    
-                    nodes.add(new NodeInfo(
-                        "master",
-                        masterHost,
-                        masterPort,
-                        NodeInfo.NodeRole.MASTER,
-                        "ok".equals(masterInfo.get("flags")) || 
-                            (masterInfo.get("flags") != null && masterInfo.get("flags").contains("master")),
-                        0
-                    ));
-                    
-                    currentMaster.set(masterAddress);
-                }
-                
-                // Get replicas
-                List<Map<String, String>> replicas = sentinel.slaves(masterName);
-                for (Map<String, String> replica : replicas) {
-                    String replicaHost = replica.get("ip");
-                    int replicaPort = Integer.parseInt(replica.getOrDefault("port", "6379"));
-                    String flags = replica.getOrDefault("flags", "");
-                    
-                    nodes.add(new NodeInfo(
-                        "replica-" + replicaHost,
-                        replicaHost,
-                        replicaPort,
-                        NodeInfo.NodeRole.SLAVE,
-                        !flags.contains("s_down") && !flags.contains("o_down"),
-                        0
-                    ));
+            Map<String, Map<String, String>> answers = new LinkedHashMap<>();
+            Map<String, Integer> votes = new HashMap<>();
+            masterQueries.forEach((sentinel, query) -> {
+                Map<String, String> masterInfo = awaitSentinel(sentinel, query);
+                if (masterInfo != null && masterInfo.get("ip") != null) {
+                    answers.put(sentinel, masterInfo);
+                    votes.merge(masterAddress(masterInfo), 1, Integer::sum);
                 }
+            });
+            
+            // Only trust a master address reported by a majority of sentinels
+            int quorum = masterQueries.size() / 2 + 1;
+            String masterAddress = votes.entrySet().stream()
+                .filter(vote -> vote.getValue() >= quorum)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+            
+            if (masterAddress == null) {
+                log.warn("No sentinel quorum on master {} ({} of {} sentinels needed, votes: {})",
+                    masterName, quorum, masterQueries.size(), votes);
+                metricsRegistry.incrementCounter("redis.sentinel.no_quorum");
+                return currentTopology.get();
+            }
+            
+            // Master details and replicas come from a sentinel that agrees with the quorum
+            String agreeingSentinel = answers.entrySet().stream()
+                .filter(answer -> masterAddress.equals(masterAddress(answer.getValue())))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElseThrow();
+            Map<String, String> masterInfo = answers.get(agreeingSentinel);
+            String masterFlags = masterInfo.getOrDefault("flags", "");
+            
+            nodes.add(new NodeInfo(
+                "master",
+                masterInfo.get("ip"),
+                Integer.parseInt(masterInfo.getOrDefault("port", "6379")),
+                NodeInfo.NodeRole.MASTER,
+                !masterFlags.contains("s_down") && !masterFlags.contains("o_down"),
+                0
+            ));
+            currentMaster.set(masterAddress);
+            
+            List<Map<String, String>> replicas = awaitSentinel(agreeingSentinel,
+                querySentinel(agreeingSentinel, commands -> commands.slaves(masterName)));
+            for (Map<String, String> replica : replicas != null ? replicas : List.<Map<String, String>>of()) {
+                String replicaHost = replica.get("ip");
+                int replicaPort = Integer.parseInt(replica.getOrDefault("port", "6379"));
+                String flags = replica.getOrDefault("flags", "");
                 
-                // Add sentinel nodes
-                for (String node : sentinelNodes.split(",")) {
-                    String[] parts = node.trim().split(":");
-                    nodes.add(new NodeInfo(
-                        "sentinel-" + parts[0],
-                        parts[0],
-                        parts.length > 1 ? Integer.parseInt(parts[1]) : 26379,
-                        NodeInfo.NodeRole.SENTINEL,
-                        true,
-                        0
-                    ));
-                }
+                nodes.add(new NodeInfo(
+                    "replica-" + replicaHost,
+                    replicaHost,
+                    replicaPort,
+                    NodeInfo.NodeRole.SLAVE,
+                    !flags.contains("s_down") && !flags.contains("o_down"),
+                    0
+                ));
+            }
+            
+            // Sentinels are healthy if they answered
+            for (String sentinel : masterQueries.keySet()) {
+                String[] parts = sentinel.split(":");
+                nodes.add(new NodeInfo(
+                    "sentinel-" + parts[0],
+                    parts[0],
+                    Integer.parseInt(parts[1]),
+                    NodeInfo.NodeRole.SENTINEL,
+                    answers.containsKey(sentinel),
+                    0
+                ));
             }
             
             TopologyInfo topology = new TopologyInfo(
@@ -282,7 +380,8 @@ public class SentinelRedisConnector implements RedisConnector {
                 nodes,
                 masterAddress,
                 Instant.now(),
-                String.format("Sentinel setup with %d nodes, master: %s", nodes.size(), masterAddress)
+                String.format("Sentinel setup with %d nodes, master: %s (%d/%d sentinels agree)",
+                    nodes.size(), masterAddress, votes.get(masterAddress), masterQueries.size())
             );
             
             currentTopology.set(topology);
@@ -295,6 +394,60 @@ public class SentinelRedisConnector implements RedisConnector {
         }
     }
     
+    private List<String> sentinelAddresses() {
+        List<String> addresses = new ArrayList<>();
+        for (String node : sentinelNodes.split(",")) {
+            String[] parts = node.trim().split(":");
+            addresses.add(parts[0] + ":" + (parts.length > 1 ? parts[1] : "26379"));
+        }
+        return addresses;
+    }
+    
+    private static String masterAddress(Map<String, String> masterInfo) {
+        return masterInfo.get("ip") + ":" + masterInfo.getOrDefault("port", "6379");
+    }
+    
+    /**
+     * Run an async command on the persistent connection to a sentinel,
+     * opening the connection on first use.
+     */
+    private <T> CompletableFuture<T> querySentinel(String sentinel,
+            Function<RedisSentinelAsyncCommands<String, String>, RedisFuture<T>> command) {
+        try {
+            StatefulRedisSentinelConnection<String, String> conn = sentinelConnections.computeIfAbsent(sentinel, address -> {
+                String[] parts = address.split(":");
+                return sentinelClient.connectSentinel(RedisURI.builder()
+                    .withHost(parts[0])
+                    .withPort(Integer.parseInt(parts[1]))
+                    .withTimeout(timeout)
+                    .build());
+            });
+            return command.apply(conn.async()).toCompletableFuture();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Wait for a sentinel answer. A sentinel that fails has its connection
+     * dropped so the next detection reconnects it.
+     */
+    private <T> T awaitSentinel(String sentinel, CompletableFuture<T> query) {
+        try {
+            return query.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.warn("Sentinel {} did not answer: {}", sentinel, e.getMessage());
+            StatefulRedisSentinelConnection<String, String> conn = sentinelConnections.remove(sentinel);
+            if (conn != null) {
+                conn.closeAsync();
+            }
+            return null;
+        }
+    }
+    
     @SuppressWarnings("unused")
     private TopologyInfo detectRoleFallback(Exception e) {
         return currentTopology.get();
@@ -318,13 +471,29 @@ public class SentinelRedisConnector implements RedisConnector {
         return TopologyInfo.TopologyType.REDIS_SENTINEL;
     }
     
-    @Override
     @PreDestroy
+    public void shutdown() {
+        disconnect();
+        
+        sentinelConnections.values().forEach(StatefulRedisSentinelConnection::closeAsync);
+        sentinelConnections.clear();
+        sentinelClient.shutdown();
+        clientResources.shutdown();
+    }
+    
+    @Override
     public void disconnect() {
         log.info("Disconnecting from Redis Sentinel");
         
         stateMachine.transition("redis", SystemState.DISCONNECTED, "Manual disconnect");
         
+        for (StatefulRedisPubSubConnection<String, String> pubSub : sentinelSubscriptions) {
+            try {
+                pubSub.close();
+            } catch (Exception ignored) {}
+        }
+        sentinelSubscriptions.clear();
+        
         StatefulRedisConnection<String, String> conn = masterConnection.getAndSet(null);
         if (conn != null) {
             try {
@@ -17,5 +17,14 @@ public enum DeliveryGuarantee {
     /**
      * Operations will be delivered at most once, no duplicates
      */
-    AT_MOST_ONCE
+    AT_MOST_ONCE,
+    
+    /**
+     * Each batch is published to Kafka atomically in one transaction, so
+     * read_committed consumers see all of it or none of it. The outbox is not
+     * part of that transaction: a failure between the Kafka commit and the
+     * outbox update re-sends the batch, so duplicates across transactions
+     * remain possible and consumers must still deduplicate by event ID
+     */
+    EXACTLY_ONCE
 }
@@ -0,0 +1,167 @@
+package com.platform.controlplane.core;
+
+import com.platform.controlplane.chaos.ChaosExperiment;
+import com.platform.controlplane.chaos.ChaosRepository;
+import com.platform.controlplane.model.ConnectionStatus;
+import com.platform.controlplane.state.SystemState;
+import com.platform.controlplane.state.SystemStateContext;
+import com.platform.controlplane.state.SystemStateMachine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-system health-check cadence derived from system state.
+ *
+ * Features:
+ * - Fast interval for systems that are unhealthy, transitional (CONNECTING,
+ *   RETRYING, RECOVERING), failing their last probe, or targeted by a
+ *   running chaos experiment
+ * - Stable interval, with jitter, once a system has been CONNECTED (or
+ *   healthy without any recorded transition) for stable-after-seconds
+ * - Base interval for everything in between
+ * - Effective interval per system exposed as controlplane.health.check.interval_ms
+ */
+@Slf4j
+@Component
+public class HealthCheckCadence {
+    
+    private final SystemStateMachine stateMachine;
+    private final ChaosRepository chaosRepository;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${controlplane.health-check.fast-interval-ms:500}")
+    private long fastIntervalMs;
+    
+    @Value("${controlplane.health-check.base-interval-ms:${controlplane.health-check-interval:10000}}")
+    private long baseIntervalMs;
+    
+    @Value("${controlplane.health-check.stable-interval-ms:30000}")
+    private long stableIntervalMs;
+    
+    @Value("${controlplane.health-check.stable-after-seconds:60}")
+    private long stableAfterSeconds;
+    
+    @Value("${controlplane.health-check.jitter:0.2}")
+    private double jitter;
+    
+    @Value("${controlplane.health-check.chaos-refresh-ms:5000}")
+    private long chaosRefreshMs;
+    
+    private final Map<String, AtomicLong> intervals = new ConcurrentHashMap<>();
+    private final Map<String, Instant> healthySince = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionStatus> lastResults = new ConcurrentHashMap<>();
+    
+    // Systems targeted by running chaos experiments, refreshed at most every chaos-refresh-ms
+    private volatile Set<String> chaosTargets = Set.of();
+    private volatile long chaosTargetsLoadedAt = 0;
+    
+    public HealthCheckCadence(
+            SystemStateMachine stateMachine,
+            ChaosRepository chaosRepository,
+            MeterRegistry meterRegistry) {
+        this.stateMachine = stateMachine;
+        this.chaosRepository = chaosRepository;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Record the outcome of a probe.
+     */
+    public void recordResult(String system, ConnectionStatus status) {
+        lastResults.put(system, status);
+        if (status.isHealthy()) {
+            healthySince.putIfAbsent(system, Instant.now());
+        } else {
+            healthySince.remove(system);
+        }
+    }
+    
+    /**
+     * Interval until the next probe of a system, in milliseconds.
+     */
+    public long nextIntervalMs(String system) {
+        long interval = switch (classify(system)) {
+            case FAST -> fastIntervalMs;
+            case BASE -> baseIntervalMs;
+            case STABLE -> withJitter(stableIntervalMs);
+        };
+        
+        intervals.computeIfAbsent(system, this::registerGauge).set(interval);
+        return interval;
+    }
+    
+    private Cadence classify(String system) {
+        SystemStateContext context = stateMachine.getContext(system);
+        SystemState state = context.currentState();
+        ConnectionStatus lastResult = lastResults.get(system);
+        
+        if (state.isUnhealthy() || state.isTransitional()
+                || (lastResult != null && !lastResult.isHealthy())
+                || isChaosTarget(system)) {
+            return Cadence.FAST;
+        }
+        
+        Instant since = healthySince.get(system);
+        boolean probedStable = since != null
+            && Instant.now().getEpochSecond() - since.getEpochSecond() >= stableAfterSeconds;
+        
+        if (state == SystemState.CONNECTED && context.isStableFor(stableAfterSeconds) && probedStable) {
+            return Cadence.STABLE;
+        }
+        // Systems the state machine never tracked stay in INIT; rely on the probes alone
+        if (state == SystemState.INIT && probedStable) {
+            return Cadence.STABLE;
+        }
+        return Cadence.BASE;
+    }
+    
+    private boolean isChaosTarget(String system) {
+        long now = System.currentTimeMillis();
+        if (now - chaosTargetsLoadedAt >= chaosRefreshMs) {
+            chaosTargetsLoadedAt = now;
+            try {
+                chaosTargets = chaosRepository.findActive().stream()
+                    .map(ChaosExperiment::getSystemType)
+                    .map(String::toLowerCase)
+                    .collect(Collectors.toUnmodifiableSet());
+            } catch (Exception e) {
+                log.debug("Could not load active chaos experiments: {}", e.getMessage());
+            }
+        }
+        return chaosTargets.contains(system);
+    }
+    
+    private long withJitter(long intervalMs) {
+        long spread = (long) (intervalMs * jitter);
+        if (spread <= 0) {
+            return intervalMs;
+        }
+        return intervalMs - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1);
+    }
+    
+    private AtomicLong registerGauge(String system) {
+        AtomicLong interval = new AtomicLong(baseIntervalMs);
+        Gauge.builder("controlplane.health.check.interval_ms", interval, AtomicLong::get)
+            .description("Current health-check interval of the system")
+            .tag("system", system)
+            .register(meterRegistry);
+        return interval;
+    }
+    
+    private enum Cadence {
+        FAST,
+        BASE,
+        STABLE
+    }
+}
@@ -0,0 +1,165 @@
+package com.platform.controlplane.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.controlplane.model.HealthUpdate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a follower's view of system health in step with the leader.
+ * 
+ * In relay mode only the leader probes. Followers subscribe to the
+ * leader's snapshots on /topic/health.mirror over their own connection to
+ * the external broker, so they can still answer snapshot requests and the
+ * REST health API, and take over the sequence if they become leader.
+ * 
+ * Features:
+ * - Only active with controlplane.websocket.broker.mode=relay
+ * - Reconnects with a fixed delay after broker outages
+ */
+@Slf4j
+@Component
+public class HealthRelayMirror extends StompSessionHandlerAdapter {
+    
+    private final HealthStreamPublisher healthStreamPublisher;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    
+    @Value("${controlplane.websocket.broker.mode:simple}")
+    private String brokerMode;
+    
+    @Value("${controlplane.websocket.broker.relay.host:localhost}")
+    private String relayHost;
+    
+    @Value("${controlplane.websocket.broker.relay.port:61613}")
+    private int relayPort;
+    
+    @Value("${controlplane.websocket.broker.relay.login:guest}")
+    private String relayLogin;
+    
+    @Value("${controlplane.websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+    
+    @Value("${controlplane.websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+    
+    @Value("${controlplane.websocket.broker.relay.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+    
+    private final AtomicBoolean reconnectPending = new AtomicBoolean(false);
+    private ReactorNettyTcpStompClient stompClient;
+    private volatile StompSession session;
+    private volatile boolean running;
+    
+    public HealthRelayMirror(
+            HealthStreamPublisher healthStreamPublisher,
+            ObjectMapper objectMapper,
+            TaskScheduler taskScheduler) {
+        this.healthStreamPublisher = healthStreamPublisher;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!"relay".equalsIgnoreCase(brokerMode)) {
+            return;
+        }
+        
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        
+        stompClient = new ReactorNettyTcpStompClient(relayHost, relayPort);
+        stompClient.setMessageConverter(converter);
+        stompClient.setTaskScheduler(taskScheduler);
+        
+        running = true;
+        connect();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+        if (stompClient != null) {
+            stompClient.shutdown();
+        }
+    }
+    
+    @Override
+    public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+        this.session = session;
+        session.subscribe(HealthStreamPublisher.HEALTH_MIRROR_TOPIC, this);
+        log.info("Subscribed to leader health snapshots on {}:{}", relayHost, relayPort);
+    }
+    
+    @Override
+    public Type getPayloadType(StompHeaders headers) {
+        return HealthUpdate.class;
+    }
+    
+    @Override
+    public void handleFrame(StompHeaders headers, Object payload) {
+        healthStreamPublisher.mirror((HealthUpdate) payload);
+    }
+    
+    @Override
+    public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                byte[] payload, Throwable exception) {
+        log.warn("Failed to handle health mirror frame: {}", exception.getMessage());
+    }
+    
+    @Override
+    public void handleTransportError(StompSession session, Throwable exception) {
+        log.warn("Health mirror connection to {}:{} lost: {}", relayHost, relayPort, exception.getMessage());
+        scheduleReconnect();
+    }
+    
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        
+        StompHeaders headers = new StompHeaders();
+        headers.setLogin(relayLogin);
+        headers.setPasscode(relayPasscode);
+        if (!relayVirtualHost.isBlank()) {
+            headers.setHost(relayVirtualHost);
+        }
+        
+        stompClient.connectAsync(headers, this).whenComplete((connected, e) -> {
+            if (e != null) {
+                log.warn("Failed to connect health mirror to {}:{}: {}", relayHost, relayPort, e.getMessage());
+                scheduleReconnect();
+            }
+        });
+    }
+    
+    private void scheduleReconnect() {
+        if (!running || !reconnectPending.compareAndSet(false, true)) {
+            return;
+        }
+        taskScheduler.schedule(() -> {
+            reconnectPending.set(false);
+            connect();
+        }, Instant.now().plusMillis(reconnectDelayMs));
+    }
+}
@@ -0,0 +1,182 @@
+package com.platform.controlplane.core;
+
+import com.platform.controlplane.cluster.LeaderElectionService;
+import com.platform.controlplane.model.ConnectionStatus;
+import com.platform.controlplane.model.HealthUpdate;
+import com.platform.controlplane.model.HealthUpdate.PatchOperation;
+import com.platform.controlplane.model.SystemHealth;
+import com.platform.controlplane.model.TopologyInfo;
+import com.platform.controlplane.observability.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.BiPredicate;
+
+/**
+ * Publishes system health to /topic/health as sequenced deltas.
+ * 
+ * Features:
+ * - Full snapshot only on request (subscription or resync)
+ * - Deltas carry only the changed status and topology entries
+ * - Nothing is sent when health is unchanged (check timestamps ignored)
+ * - Sequence numbers let clients detect gaps and resync
+ * - Relay mode: only the leader publishes; it also sends each new snapshot
+ *   to /topic/health.mirror, from which followers serve their own clients
+ */
+@Slf4j
+@Component
+public class HealthStreamPublisher {
+    
+    public static final String HEALTH_TOPIC = "/topic/health";
+    public static final String HEALTH_MIRROR_TOPIC = "/topic/health.mirror";
+    
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MetricsRegistry metricsRegistry;
+    private final LeaderElectionService leaderElection;
+    private final boolean relayMode;
+    
+    private SystemHealth lastPublished;
+    private long sequence = 0;
+    
+    public HealthStreamPublisher(
+            SimpMessagingTemplate messagingTemplate,
+            MetricsRegistry metricsRegistry,
+            LeaderElectionService leaderElection,
+            @Value("${controlplane.websocket.broker.mode:simple}") String brokerMode) {
+        this.messagingTemplate = messagingTemplate;
+        this.metricsRegistry = metricsRegistry;
+        this.leaderElection = leaderElection;
+        this.relayMode = "relay".equalsIgnoreCase(brokerMode);
+    }
+    
+    /**
+     * Whether another replica computes and publishes health.
+     * Only in relay mode; with the simple broker every replica serves its own sessions.
+     */
+    public boolean isFollower() {
+        return relayMode && !leaderElection.isLeader();
+    }
+    
+    /**
+     * Publish the changes since the last published health, if any.
+     */
+    public synchronized void publish(SystemHealth health) {
+        if (lastPublished == null) {
+            // Nothing to diff against; clients start from a snapshot
+            lastPublished = health;
+            sequence++;
+            publishMirror();
+            return;
+        }
+        
+        List<PatchOperation> patch = diff(lastPublished, health);
+        if (patch.isEmpty()) {
+            metricsRegistry.incrementCounter("websocket.health.updates", "type", "unchanged");
+            return;
+        }
+        
+        sequence++;
+        lastPublished = health;
+        patch.add(PatchOperation.replace("/lastUpdated", health.lastUpdated()));
+        
+        try {
+            messagingTemplate.convertAndSend(HEALTH_TOPIC, HealthUpdate.delta(sequence, patch));
+            metricsRegistry.incrementCounter("websocket.health.updates", "type", "delta");
+            log.debug("Pushed health delta {} with {} operations", sequence, patch.size());
+        } catch (Exception e) {
+            // Clients will see the sequence gap and resync
+            log.warn("Failed to push health delta: {}", e.getMessage());
+        }
+        publishMirror();
+    }
+    
+    /**
+     * Adopt a snapshot published by the leader.
+     * Followers answer snapshot requests from it; a follower that becomes
+     * leader continues the same sequence, so clients see no gap.
+     */
+    public synchronized void mirror(HealthUpdate update) {
+        if (!isFollower() || update.snapshot() == null || update.sequence() < sequence) {
+            return;
+        }
+        lastPublished = update.snapshot();
+        sequence = update.sequence();
+    }
+    
+    /**
+     * Latest published health, or null before the first publish.
+     */
+    public synchronized SystemHealth latest() {
+        return lastPublished;
+    }
+    
+    /**
+     * Current full health at the current sequence, for new subscribers and resyncs.
+     */
+    public synchronized HealthUpdate snapshot() {
+        metricsRegistry.incrementCounter("websocket.health.updates", "type", "snapshot");
+        return HealthUpdate.snapshot(sequence, lastPublished);
+    }
+    
+    private void publishMirror() {
+        if (!relayMode) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend(HEALTH_MIRROR_TOPIC, HealthUpdate.snapshot(sequence, lastPublished));
+        } catch (Exception e) {
+            log.warn("Failed to publish health mirror snapshot: {}", e.getMessage());
+        }
+    }
+    
+    private List<PatchOperation> diff(SystemHealth previous, SystemHealth current) {
+        List<PatchOperation> patch = new ArrayList<>();
+        
+        if (previous.overallStatus() != current.overallStatus()) {
+            patch.add(PatchOperation.replace("/overallStatus", current.overallStatus()));
+        }
+        
+        diffEntries("/connectionStatuses/", previous.connectionStatuses(), current.connectionStatuses(),
+            HealthStreamPublisher::sameStatus, patch);
+        diffEntries("/topologies/", previous.topologies(), current.topologies(),
+            HealthStreamPublisher::sameTopology, patch);
+        
+        return patch;
+    }
+    
+    private <T> void diffEntries(String prefix, Map<String, T> previous, Map<String, T> current,
+                                 BiPredicate<T, T> same, List<PatchOperation> patch) {
+        TreeSet<String> keys = new TreeSet<>(previous.keySet());
+        keys.addAll(current.keySet());
+        
+        for (String key : keys) {
+            T before = previous.get(key);
+            T after = current.get(key);
+            if (before == null || after == null || !same.test(before, after)) {
+                patch.add(PatchOperation.replace(prefix + key, after));
+            }
+        }
+    }
+    
+    private static boolean sameStatus(ConnectionStatus a, ConnectionStatus b) {
+        return a.status() == b.status()
+            && a.latencyMs() == b.latencyMs()
+            && Objects.equals(a.errorMessage(), b.errorMessage())
+            && a.activeConnections() == b.activeConnections()
+            && a.maxConnections() == b.maxConnections();
+    }
+    
+    private static boolean sameTopology(TopologyInfo a, TopologyInfo b) {
+        return a.topologyType() == b.topologyType()
+            && Objects.equals(a.nodes(), b.nodes())
+            && Objects.equals(a.primaryNode(), b.primaryNode())
+            && Objects.equals(a.additionalInfo(), b.additionalInfo());
+    }
+}
@@ -1,5 +1,6 @@
 package com.platform.controlplane.core;
 
+import com.platform.controlplane.cluster.LeaderElectionService;
 import com.platform.controlplane.connectors.kafka.KafkaEventProducer;
 import com.platform.controlplane.connectors.mysql.MySQLConnector;
 import com.platform.controlplane.connectors.redis.RedisConnector;
@@ -12,14 +13,29 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Central orchestrator service that coordinates all connectors,
  * manages health checks, and pushes updates to the frontend.
+ * 
+ * Health probes fan out concurrently on a dedicated executor, each bounded
+ * by a deadline. A probe that misses its deadline is reported as DEGRADED,
+ * so a cycle takes as long as the slowest deadline, not the sum of probes;
+ * the system is not probed again until the hung probe returns.
+ * Each system is probed on its own state-driven cadence.
  */
 @Slf4j
 @Service
@@ -31,6 +47,9 @@ public class OrchestratorService {
     private final TopologyDetector topologyDetector;
     private final MetricsRegistry metricsRegistry;
     private final SimpMessagingTemplate messagingTemplate;
+    private final HealthStreamPublisher healthStreamPublisher;
+    private final LeaderElectionService leaderElection;
+    private final HealthCheckCadence healthCheckCadence;
     
     private final AtomicReference<SystemHealth> currentHealth;
     private final AtomicReference<ConnectionStatus> previousMysqlStatus;
@@ -42,19 +61,42 @@ public class OrchestratorService {
     @Value("${controlplane.redis.health-check-interval:10s}")
     private String redisHealthCheckInterval;
     
+    @Value("${controlplane.health-probe.deadline-ms:3000}")
+    private long probeDeadlineMs;
+    
+    @Value("${controlplane.health-probe.threads:6}")
+    private int probeThreads;
+    
+    private static final List<String> SYSTEMS = List.of("mysql", "redis", "kafka");
+    
+    private ThreadPoolTaskExecutor probeExecutor;
+    
+    // Probes still running past their deadline, by system
+    private final Map<String, CompletableFuture<ConnectionStatus>> inFlightProbes = new ConcurrentHashMap<>();
+    
+    // Latest probe result and next due time (System.nanoTime) per system
+    private final Map<String, ConnectionStatus> latestStatuses = new ConcurrentHashMap<>();
+    private final Map<String, Long> nextProbeAt = new ConcurrentHashMap<>();
+    
     public OrchestratorService(
             MySQLConnector mysqlConnector,
             RedisConnector redisConnector,
             KafkaEventProducer kafkaProducer,
             TopologyDetector topologyDetector,
             MetricsRegistry metricsRegistry,
-            SimpMessagingTemplate messagingTemplate) {
+            SimpMessagingTemplate messagingTemplate,
+            HealthStreamPublisher healthStreamPublisher,
+            LeaderElectionService leaderElection,
+            HealthCheckCadence healthCheckCadence) {
         this.mysqlConnector = mysqlConnector;
         this.redisConnector = redisConnector;
         this.kafkaProducer = kafkaProducer;
         this.topologyDetector = topologyDetector;
         this.metricsRegistry = metricsRegistry;
         this.messagingTemplate = messagingTemplate;
+        this.healthStreamPublisher = healthStreamPublisher;
+        this.leaderElection = leaderElection;
+        this.healthCheckCadence = healthCheckCadence;
         this.currentHealth = new AtomicReference<>();
         this.previousMysqlStatus = new AtomicReference<>();
         this.previousRedisStatus = new AtomicReference<>();
@@ -64,6 +106,14 @@ public class OrchestratorService {
     public void initialize() {
         log.info("Initializing OrchestratorService");
         
+        probeExecutor = new ThreadPoolTaskExecutor();
+        probeExecutor.setCorePoolSize(probeThreads);
+        probeExecutor.setMaxPoolSize(probeThreads);
+        probeExecutor.setQueueCapacity(probeThreads);
+        probeExecutor.setThreadNamePrefix("health-probe-");
+        probeExecutor.setDaemon(true);
+        probeExecutor.initialize();
+        
         // Connect to all systems
         initializeConnections();
         
@@ -76,6 +126,13 @@ public class OrchestratorService {
         log.info("OrchestratorService initialized successfully");
     }
     
+    @PreDestroy
+    public void shutdown() {
+        if (probeExecutor != null) {
+            probeExecutor.shutdown();
+        }
+    }
+    
     private void initializeConnections() {
         log.info("Initializing connections to external systems");
         
@@ -101,24 +158,73 @@ public class OrchestratorService {
     }
     
     /**
-     * Perform health check on all systems (runs every 10 seconds).
+     * Probe the systems whose health check is due.
+     * Each system has its own cadence (HealthCheckCadence): fast while it is
+     * unhealthy or recovering, slow while it is stable.
+     */
+    @Scheduled(fixedDelayString = "${controlplane.health-check.tick-ms:250}")
+    public void healthCheckTick() {
+        runHealthCheck(false);
+    }
+    
+    /**
+     * Perform health check on all systems now, regardless of their cadence.
      */
-    @Scheduled(fixedRateString = "${controlplane.health-check-interval:10000}")
     public void performHealthCheck() {
-        log.debug("Performing scheduled health check");
+        runHealthCheck(true);
+    }
+    
+    /**
+     * In relay mode only the leader probes.
+     */
+    private void runHealthCheck(boolean all) {
+        if (healthStreamPublisher.isFollower()) {
+            // The leader probes and publishes; forget our last view so the
+            // first cycle after a takeover does not emit stale transitions
+            previousMysqlStatus.set(null);
+            previousRedisStatus.set(null);
+            nextProbeAt.clear();
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        long now = System.nanoTime();
         
-        // Check MySQL
-        ConnectionStatus mysqlStatus = mysqlConnector.healthCheck();
-        checkStatusChange("mysql", previousMysqlStatus.getAndSet(mysqlStatus), mysqlStatus);
+        // Fan out the due probes, then wait for them together
+        Map<String, CompletableFuture<ConnectionStatus>> probes = new LinkedHashMap<>();
+        for (String system : SYSTEMS) {
+            if (isProbeInFlight(system)) {
+                // Still hung past its deadline; keep its DEGRADED result until it returns
+                continue;
+            }
+            Long due = nextProbeAt.get(system);
+            if (all || due == null || now - due >= 0) {
+                probes.put(system, probe(system, healthCheckFor(system)));
+            }
+        }
+        if (probes.isEmpty()) {
+            return;
+        }
+        log.debug("Performing health check for {}", probes.keySet());
         
-        // Check Redis
-        ConnectionStatus redisStatus = redisConnector.healthCheck();
-        checkStatusChange("redis", previousRedisStatus.getAndSet(redisStatus), redisStatus);
+        probes.forEach((system, running) -> {
+            ConnectionStatus status = running.join();
+            latestStatuses.put(system, status);
+            healthCheckCadence.recordResult(system, status);
+            nextProbeAt.put(system, System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(healthCheckCadence.nextIntervalMs(system)));
+        });
+        metricsRegistry.recordLatency("orchestrator", "health_check_cycle", System.currentTimeMillis() - startTime);
         
-        // Check Kafka
-        ConnectionStatus kafkaStatus = kafkaProducer.isKafkaAvailable() 
-            ? ConnectionStatus.up("kafka", 0, 1, 100)
-            : ConnectionStatus.down("kafka", "Kafka producer unavailable");
+        ConnectionStatus mysqlStatus = latestStatuses.get("mysql");
+        ConnectionStatus redisStatus = latestStatuses.get("redis");
+        ConnectionStatus kafkaStatus = latestStatuses.get("kafka");
+        
+        if (probes.containsKey("mysql")) {
+            checkStatusChange("mysql", previousMysqlStatus.getAndSet(mysqlStatus), mysqlStatus);
+        }
+        if (probes.containsKey("redis")) {
+            checkStatusChange("redis", previousRedisStatus.getAndSet(redisStatus), redisStatus);
+        }
         
         // Get topologies
         TopologyInfo mysqlTopology = mysqlConnector.isConnected() 
@@ -140,7 +246,7 @@ public class OrchestratorService {
         // Update metrics
         metricsRegistry.setHealthStatus("mysql", mysqlStatus.isHealthy());
         metricsRegistry.setHealthStatus("redis", redisStatus.isHealthy());
-        metricsRegistry.setHealthStatus("kafka", kafkaProducer.isKafkaAvailable());
+        metricsRegistry.setHealthStatus("kafka", kafkaStatus.isHealthy());
         
         // Push to WebSocket clients
         pushHealthUpdate(health);
@@ -149,8 +255,61 @@ public class OrchestratorService {
         kafkaProducer.processQueuedEvents();
     }
     
+    private Supplier<ConnectionStatus> healthCheckFor(String system) {
+        return switch (system) {
+            case "mysql" -> mysqlConnector::healthCheck;
+            case "redis" -> redisConnector::healthCheck;
+            default -> () -> kafkaProducer.isKafkaAvailable()
+                ? ConnectionStatus.up("kafka", 0, 1, 100)
+                : ConnectionStatus.down("kafka", "Kafka producer unavailable");
+        };
+    }
+    
+    /**
+     * Whether the last probe of a system is still running past its deadline.
+     */
+    private boolean isProbeInFlight(String system) {
+        CompletableFuture<ConnectionStatus> previous = inFlightProbes.get(system);
+        return previous != null && !previous.isDone();
+    }
+    
+    /**
+     * Run a health probe on the probe executor, bounded by the probe deadline.
+     * 
+     * A probe that misses the deadline completes as DEGRADED and its timeout
+     * is counted once. It keeps running in the background, and until it
+     * finishes the system is skipped rather than probed again.
+     */
+    private CompletableFuture<ConnectionStatus> probe(String system, Supplier<ConnectionStatus> check) {
+        CompletableFuture<ConnectionStatus> running;
+        try {
+            running = CompletableFuture.supplyAsync(check, probeExecutor);
+        } catch (Exception e) {
+            // Executor saturated or shutting down
+            return CompletableFuture.completedFuture(ConnectionStatus.degraded(system, -1,
+                "Health probe rejected: " + e.getMessage()));
+        }
+        inFlightProbes.put(system, running);
+        
+        return running
+            .exceptionally(e -> ConnectionStatus.down(system, e.getMessage()))
+            .completeOnTimeout(null, probeDeadlineMs, TimeUnit.MILLISECONDS)
+            .thenApply(status -> {
+                if (status != null) {
+                    return status;
+                }
+                log.warn("{} health probe exceeded {}ms deadline", system, probeDeadlineMs);
+                metricsRegistry.incrementCounter("controlplane.health.probe.timeout", "system", system);
+                return ConnectionStatus.degraded(system, probeDeadlineMs,
+                    "Health probe exceeded " + probeDeadlineMs + "ms deadline");
+            });
+    }
+    
     private void checkStatusChange(String system, ConnectionStatus previous, ConnectionStatus current) {
         if (previous == null) return;
+        // With the simple broker every replica probes for its own sessions,
+        // but only the leader emits failure events
+        if (!leaderElection.isLeader()) return;
         
         boolean wasHealthy = previous.isHealthy();
         boolean isHealthy = current.isHealthy();
@@ -173,10 +332,15 @@ public class OrchestratorService {
     }
     
     /**
-     * Refresh topology detection for all systems (runs every 30 seconds).
+     * Full topology detection for all systems. Changes are normally pushed
+     * to TopologyDetector, so this only runs as a slow consistency sweep.
+     * In relay mode only the leader runs it.
      */
-    @Scheduled(fixedRateString = "${controlplane.topology-check-interval:30000}")
+    @Scheduled(fixedRateString = "${controlplane.topology-check-interval:300000}")
     public void refreshTopologies() {
+        if (healthStreamPublisher.isFollower()) {
+            return;
+        }
         log.debug("Refreshing topologies");
         topologyDetector.detectAllTopologies();
     }
@@ -185,6 +349,9 @@ public class OrchestratorService {
      * Get current system health.
      */
     public SystemHealth getSystemHealth() {
+        if (healthStreamPublisher.isFollower()) {
+            return healthStreamPublisher.latest();
+        }
         return currentHealth.get();
     }
     
@@ -237,12 +404,8 @@ public class OrchestratorService {
     }
     
     private void pushHealthUpdate(SystemHealth health) {
-        try {
-            messagingTemplate.convertAndSend("/topic/health", health);
-            log.debug("Pushed health update to WebSocket clients");
-        } catch (Exception e) {
-            log.warn("Failed to push health update: {}", e.getMessage());
-        }
+        // Only the changes since the last cycle are sent
+        healthStreamPublisher.publish(health);
     }
     
     /**
@@ -2,18 +2,32 @@ package com.platform.controlplane.core;
 
 import com.platform.controlplane.connectors.mysql.MySQLConnector;
 import com.platform.controlplane.connectors.redis.RedisConnector;
+import com.platform.controlplane.model.TopologyChangeSignal;
 import com.platform.controlplane.model.TopologyInfo;
 import com.platform.controlplane.observability.MetricsRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Detects and tracks topology changes for MySQL, Redis, and Kafka.
+ * 
+ * Changes are detected push-first:
+ * - Redis connectors raise a TopologyChangeSignal from Sentinel pub/sub
+ *   or Lettuce cluster topology events
+ * - MySQL is watched through a cheap replication fingerprint read over
+ *   the probe connections
+ * - Full detection on a timer only runs as a slow consistency sweep
  */
 @Slf4j
 @Component
@@ -22,10 +36,15 @@ public class TopologyDetector {
     private final MySQLConnector mysqlConnector;
     private final RedisConnector redisConnector;
     private final MetricsRegistry metricsRegistry;
+    private final HealthStreamPublisher healthStreamPublisher;
     
     private final AtomicReference<TopologyInfo> mysqlTopology;
     private final AtomicReference<TopologyInfo> redisTopology;
     private final AtomicReference<TopologyInfo> kafkaTopology;
+    private final AtomicReference<String> mysqlFingerprint;
+    
+    // Signals received per system while a detection is pending or running
+    private final Map<String, AtomicInteger> pendingRefreshes = new ConcurrentHashMap<>();
     
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String kafkaBootstrapServers;
@@ -33,13 +52,66 @@ public class TopologyDetector {
     public TopologyDetector(
             MySQLConnector mysqlConnector,
             RedisConnector redisConnector,
-            MetricsRegistry metricsRegistry) {
+            MetricsRegistry metricsRegistry,
+            HealthStreamPublisher healthStreamPublisher) {
         this.mysqlConnector = mysqlConnector;
         this.redisConnector = redisConnector;
         this.metricsRegistry = metricsRegistry;
+        this.healthStreamPublisher = healthStreamPublisher;
         this.mysqlTopology = new AtomicReference<>(TopologyInfo.unknown("mysql"));
         this.redisTopology = new AtomicReference<>(TopologyInfo.unknown("redis"));
         this.kafkaTopology = new AtomicReference<>(TopologyInfo.unknown("kafka"));
+        this.mysqlFingerprint = new AtomicReference<>();
+    }
+    
+    /**
+     * Re-detect a system's topology when a connector signals a change.
+     * Bursts of signals (e.g. the same failover reported by every sentinel)
+     * coalesce into at most one extra detection.
+     */
+    @Async
+    @EventListener
+    public void onTopologyChangeSignal(TopologyChangeSignal signal) {
+        log.info("Topology change signalled for {}: {}", signal.system(), signal.reason());
+        metricsRegistry.incrementCounter("controlplane.topology.signal", "system", signal.system());
+        
+        switch (signal.system()) {
+            case "mysql" -> refreshCoalesced("mysql", this::detectMySQLTopology);
+            case "redis" -> refreshCoalesced("redis", this::detectRedisTopology);
+            default -> log.debug("Ignoring topology signal for unknown system {}", signal.system());
+        }
+    }
+    
+    /**
+     * Watch the MySQL replication fingerprint and run a full detection
+     * as soon as it changes. In relay mode only the leader watches.
+     */
+    @Scheduled(fixedDelayString = "${controlplane.topology-watch-interval-ms:2000}")
+    public void watchMySQLReplication() {
+        if (!mysqlConnector.isConnected() || healthStreamPublisher.isFollower()) {
+            return;
+        }
+        String fingerprint = mysqlConnector.replicationFingerprint();
+        if (fingerprint == null) {
+            return;
+        }
+        String previous = mysqlFingerprint.getAndSet(fingerprint);
+        if (previous != null && !previous.equals(fingerprint)) {
+            onTopologyChangeSignal(new TopologyChangeSignal("mysql",
+                "Replication state changed: " + previous + " -> " + fingerprint));
+        }
+    }
+    
+    private void refreshCoalesced(String system, Runnable detection) {
+        AtomicInteger pending = pendingRefreshes.computeIfAbsent(system, k -> new AtomicInteger());
+        if (pending.getAndIncrement() > 0) {
+            // A detection is already running and will run again for this signal
+            return;
+        }
+        do {
+            pending.set(1);
+            detection.run();
+        } while (pending.decrementAndGet() > 0);
     }
     
     /**
@@ -71,6 +143,12 @@ public class TopologyDetector {
                 metricsRegistry.recordTopologyChange("mysql", newTopology.topologyType().name());
             }
             
+            if (hasPrimaryChanged(previousTopology, newTopology)) {
+                log.warn("MySQL failover detected: {} -> {}", 
+                    previousTopology.primaryNode(), newTopology.primaryNode());
+                metricsRegistry.recordTopologyChange("mysql", "FAILOVER");
+            }
+            
             return newTopology;
             
         } catch (Exception e) {
@@ -97,12 +175,13 @@ public class TopologyDetector {
                 log.info("Redis topology changed: {} -> {}", 
                     previousTopology.topologyType(), newTopology.topologyType());
                 metricsRegistry.recordTopologyChange("redis", newTopology.topologyType().name());
-                
-                // Check for master change (failover)
-                if (hasPrimaryChanged(previousTopology, newTopology)) {
-                    log.warn("Redis failover detected: {} -> {}", 
-                        previousTopology.primaryNode(), newTopology.primaryNode());
-                }
+            }
+            
+            // Check for master change (failover)
+            if (hasPrimaryChanged(previousTopology, newTopology)) {
+                log.warn("Redis failover detected: {} -> {}", 
+                    previousTopology.primaryNode(), newTopology.primaryNode());
+                metricsRegistry.recordTopologyChange("redis", "FAILOVER");
             }
             
             return newTopology;
@@ -37,6 +37,7 @@ public enum ErrorCode {
     RESOURCE_CONFLICT("CP-310", "Resource conflict", ErrorCategory.RECOVERABLE),
     DUPLICATE_RESOURCE("CP-311", "Duplicate resource", ErrorCategory.RECOVERABLE),
     OPTIMISTIC_LOCK_FAILURE("CP-312", "Concurrent modification", ErrorCategory.RECOVERABLE),
+    LEADERSHIP_LOST("CP-313", "Leader lease taken over by another instance", ErrorCategory.RECOVERABLE),
     
     // ==================== System Errors (4xx) ====================
     
@@ -470,7 +470,7 @@ public class GlobalExceptionHandler {
         return switch (errorCode) {
             case RESOURCE_NOT_FOUND, POLICY_NOT_FOUND, EXPERIMENT_NOT_FOUND, SYSTEM_NOT_FOUND -> 
                 HttpStatus.NOT_FOUND;
-            case RESOURCE_CONFLICT, DUPLICATE_RESOURCE, OPTIMISTIC_LOCK_FAILURE -> 
+            case RESOURCE_CONFLICT, DUPLICATE_RESOURCE, OPTIMISTIC_LOCK_FAILURE, LEADERSHIP_LOST -> 
                 HttpStatus.CONFLICT;
             case VALIDATION_ERROR, INVALID_REQUEST, MISSING_REQUIRED_FIELD, INVALID_FIELD_VALUE, CONSTRAINT_VIOLATION ->
                 HttpStatus.BAD_REQUEST;
@@ -0,0 +1,26 @@
+package com.platform.controlplane.error;
+
+/**
+ * Exception for leader-only work attempted under a lease term that another
+ * instance has since taken over.
+ */
+public class StaleLeaderException extends ControlPlaneException {
+    
+    private final long fencingToken;
+    private final long currentToken;
+    
+    public StaleLeaderException(long fencingToken, long currentToken) {
+        super(ErrorCode.LEADERSHIP_LOST,
+            String.format("Fencing token %d is stale, the lease is at %d", fencingToken, currentToken));
+        this.fencingToken = fencingToken;
+        this.currentToken = currentToken;
+    }
+    
+    public long getFencingToken() {
+        return fencingToken;
+    }
+    
+    public long getCurrentToken() {
+        return currentToken;
+    }
+}
@@ -3,6 +3,7 @@ package com.platform.controlplane.lifecycle;
 import com.platform.controlplane.connectors.kafka.EventDispatcherService;
 import com.platform.controlplane.connectors.kafka.KafkaEventProducer;
 import com.platform.controlplane.observability.MetricsRegistry;
+import com.platform.controlplane.policy.PolicyExecutionRecordWriter;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,6 +27,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * Ensures clean shutdown of:
  * - Schedulers (wait for running tasks)
  * - Kafka producers (flush pending messages)
+ * - Policy execution records (flush buffered inserts)
  * - WebSocket sessions (notify and close)
  * - Thread pools (drain and terminate)
  * 
@@ -33,8 +35,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * 1. Stop accepting new work
  * 2. Notify WebSocket clients
  * 3. Wait for in-flight tasks
- * 4. Flush Kafka
- * 5. Close connections
+ * 4. Flush policy execution records
+ * 5. Flush Kafka
+ * 6. Close connections
  */
 @Slf4j
 @Component
@@ -45,6 +48,7 @@ public class GracefulShutdownManager implements ApplicationListener<ContextClose
     private final SimpMessagingTemplate messagingTemplate;
     private final SimpUserRegistry userRegistry;
     private final EventDispatcherService eventDispatcher;
+    private final PolicyExecutionRecordWriter recordWriter;
     private final MetricsRegistry metricsRegistry;
     
     @Value("${controlplane.shutdown.timeout-seconds:30}")
@@ -62,12 +66,14 @@ public class GracefulShutdownManager implements ApplicationListener<ContextClose
             SimpMessagingTemplate messagingTemplate,
             SimpUserRegistry userRegistry,
             EventDispatcherService eventDispatcher,
+            PolicyExecutionRecordWriter recordWriter,
             MetricsRegistry metricsRegistry) {
         this.taskScheduler = taskScheduler;
         this.kafkaTemplate = kafkaTemplate;
         this.messagingTemplate = messagingTemplate;
         this.userRegistry = userRegistry;
         this.eventDispatcher = eventDispatcher;
+        this.recordWriter = recordWriter;
         this.metricsRegistry = metricsRegistry;
         
         // Register JVM shutdown hook as backup
@@ -107,23 +113,27 @@ public class GracefulShutdownManager implements ApplicationListener<ContextClose
         
         try {
             // Phase 1: Stop accepting new work
-            log.info("[1/5] Stopping schedulers...");
+            log.info("[1/6] Stopping schedulers...");
             stopSchedulers();
             
             // Phase 2: Notify WebSocket clients
-            log.info("[2/5] Notifying WebSocket clients...");
+            log.info("[2/6] Notifying WebSocket clients...");
             notifyWebSocketClients();
             
             // Phase 3: Wait for in-flight tasks
-            log.info("[3/5] Waiting for in-flight tasks...");
+            log.info("[3/6] Waiting for in-flight tasks...");
             waitForInFlightTasks();
             
-            // Phase 4: Flush Kafka
-            log.info("[4/5] Flushing Kafka producer...");
+            // Phase 4: Flush policy execution records
+            log.info("[4/6] Flushing policy execution records...");
+            flushExecutionRecords();
+            
+            // Phase 5: Flush Kafka
+            log.info("[5/6] Flushing Kafka producer...");
             flushKafka();
             
-            // Phase 5: Close connections
-            log.info("[5/5] Closing connections...");
+            // Phase 6: Close connections
+            log.info("[6/6] Closing connections...");
             closeConnections();
             
             Duration duration = Duration.between(shutdownStartTime, Instant.now());
@@ -153,6 +163,9 @@ public class GracefulShutdownManager implements ApplicationListener<ContextClose
                 taskScheduler.shutdown();
                 log.info("Task scheduler shutdown initiated");
             }
+            
+            // Outbox dispatch runs on its own worker pool
+            eventDispatcher.stop();
         } catch (Exception e) {
             log.error("Error stopping schedulers", e);
         }
@@ -217,6 +230,17 @@ public class GracefulShutdownManager implements ApplicationListener<ContextClose
         }
     }
     
+    /**
+     * Flush buffered policy execution records.
+     */
+    private void flushExecutionRecords() {
+        try {
+            recordWriter.shutdown();
+        } catch (Exception e) {
+            log.error("Error flushing policy execution records", e);
+        }
+    }
+    
     /**
      * Flush Kafka producer.
      */
@@ -16,6 +16,12 @@ public record FailureEvent(
     int retryCount,
     Map<String, Object> metadata
 ) {
+    /**
+     * Version of this record's wire schema, sent as a Kafka header so
+     * consumers can evolve. Bump when fields change incompatibly.
+     */
+    public static final int SCHEMA_VERSION = 1;
+    
     public enum EventType {
         // MySQL Events
         MYSQL_UNAVAILABLE,
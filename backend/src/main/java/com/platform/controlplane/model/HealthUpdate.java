@@ -0,0 +1,42 @@
+package com.platform.controlplane.model;
+
+import java.util.List;
+
+/**
+ * Message on the health stream.
+ * 
+ * A SNAPSHOT carries the full SystemHealth at a sequence number. A DELTA
+ * carries JSON-patch style operations that turn the health at
+ * baseSequence into the health at sequence. Clients that see a delta whose
+ * baseSequence is not the last sequence they applied must resync.
+ */
+public record HealthUpdate(
+    Type type,
+    long sequence,
+    long baseSequence,
+    SystemHealth snapshot,
+    List<PatchOperation> patch
+) {
+    public enum Type {
+        SNAPSHOT,
+        DELTA
+    }
+    
+    /**
+     * RFC 6902 style operation, e.g. replace /connectionStatuses/mysql.
+     */
+    public record PatchOperation(String op, String path, Object value) {
+        
+        public static PatchOperation replace(String path, Object value) {
+            return new PatchOperation("replace", path, value);
+        }
+    }
+    
+    public static HealthUpdate snapshot(long sequence, SystemHealth health) {
+        return new HealthUpdate(Type.SNAPSHOT, sequence, sequence, health, List.of());
+    }
+    
+    public static HealthUpdate delta(long sequence, List<PatchOperation> patch) {
+        return new HealthUpdate(Type.DELTA, sequence, sequence - 1, null, patch);
+    }
+}
@@ -0,0 +1,7 @@
+package com.platform.controlplane.model;
+
+/**
+ * Application event raised when this instance gains or loses the cluster
+ * leader lease. The fencing token identifies the lease term; it only grows.
+ */
+public record LeadershipChange(boolean leader, long fencingToken) {}
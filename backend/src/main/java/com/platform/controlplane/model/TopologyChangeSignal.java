@@ -0,0 +1,8 @@
+package com.platform.controlplane.model;
+
+/**
+ * Application event raised when a connector is told (pushed) that the
+ * topology of a system may have changed, e.g. a Sentinel failover or a
+ * cluster topology refresh. Triggers an immediate re-detection.
+ */
+public record TopologyChangeSignal(String system, String reason) {}
@@ -0,0 +1,80 @@
+package com.platform.controlplane.persistence;
+
+import com.platform.controlplane.observability.MetricsRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write split for the application DataSource.
+ * 
+ * Replaces the auto-configured spring.datasource with a routing DataSource
+ * over the primary pool (spring.datasource, as before) and a replica pool
+ * (controlplane.mysql.replica.url). Only meaningful with the replication
+ * topology, so it is off unless controlplane.mysql.read-routing.enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "controlplane.mysql.read-routing.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${controlplane.mysql.replica.url:jdbc:mysql://localhost:3307/controlplane}") String replicaUrl,
+            @Value("${controlplane.mysql.read-routing.replica-pool-size:10}") int poolSize) {
+        HikariDataSource replica = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(replicaUrl)
+            .build();
+        replica.setPoolName("ControlPlane-Replica-HikariCP");
+        replica.setMaximumPoolSize(poolSize);
+        replica.setMinimumIdle(Math.min(2, poolSize));
+        replica.setReadOnly(true);
+        return replica;
+    }
+    
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${controlplane.mysql.read-routing.max-lag-ms:2000}") long maxLagMs,
+            MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, maxLagMs, meterRegistry);
+        monitor.checkLag();
+        return monitor;
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor lagMonitor,
+            MetricsRegistry metricsRegistry) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(lagMonitor, metricsRegistry);
+        routing.setTargetDataSources(Map.of(
+            ReadWriteRoutingDataSource.PRIMARY, primaryDataSource,
+            ReadWriteRoutingDataSource.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        
+        // Defer the routing decision until the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,51 @@
+package com.platform.controlplane.persistence;
+
+import com.platform.controlplane.observability.MetricsRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only transactions to the MySQL replica.
+ * 
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag of a
+ * transaction is only known once the transaction has begun, after the
+ * transaction manager asked for its connection.
+ * 
+ * Features:
+ * - {@code @Transactional(readOnly = true)} work goes to the replica
+ * - Everything else, including work outside a transaction, goes to the primary
+ * - Falls back to the primary while ReplicaLagMonitor reports the replica
+ *   as lagging or unreachable
+ * 
+ * Only the CRUD methods inherited from SimpleJpaRepository (findById,
+ * findAll, existsById, count) run in readOnly transactions of their own and
+ * so go to the replica. Declared derived and @Query methods get no default
+ * transaction and go to the primary. Fresh reads therefore either use a
+ * declared query or run inside a read-write transaction.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+    
+    private final ReplicaLagMonitor lagMonitor;
+    private final MetricsRegistry metricsRegistry;
+    
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, MetricsRegistry metricsRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.metricsRegistry = metricsRegistry;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            metricsRegistry.incrementCounter("mysql.datasource.route", "target", PRIMARY, "reason", "replica_lag");
+            return PRIMARY;
+        }
+        metricsRegistry.incrementCounter("mysql.datasource.route", "target", REPLICA, "reason", "read_only");
+        return REPLICA;
+    }
+}
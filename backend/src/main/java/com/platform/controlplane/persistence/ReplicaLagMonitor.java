@@ -0,0 +1,100 @@
+package com.platform.controlplane.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replication lag guard for read routing.
+ * 
+ * Polls the replica's replication status and marks it unusable for reads
+ * while it lags more than max-lag-ms, replication is stopped, or the
+ * replica cannot be reached.
+ * 
+ * Features:
+ * - SHOW REPLICA STATUS, falling back to SHOW SLAVE STATUS before MySQL 8.0.22
+ * - Lag exposed as mysql.replica.lag_ms (-1 when unknown)
+ * - Starts unusable until the first successful check
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    
+    private final DataSource replicaDataSource;
+    private final long maxLagMs;
+    private final AtomicLong lagMs = new AtomicLong(-1);
+    
+    private volatile boolean replicaUsable = false;
+    private volatile boolean legacyStatusSyntax = false;
+    
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagMs = maxLagMs;
+        
+        Gauge.builder("mysql.replica.lag_ms", lagMs, AtomicLong::get)
+            .description("Replication lag of the read replica, -1 when unknown")
+            .register(meterRegistry);
+    }
+    
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+    
+    @Scheduled(fixedDelayString = "${controlplane.mysql.read-routing.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        long lag;
+        try {
+            lag = readLagMs();
+        } catch (SQLException e) {
+            log.debug("Replica lag check failed: {}", e.getMessage());
+            lag = -1;
+        }
+        
+        lagMs.set(lag);
+        boolean usable = lag >= 0 && lag <= maxLagMs;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Read replica usable again (lag {}ms), routing read-only transactions to it", lag);
+            } else {
+                log.warn("Read replica lag {}ms exceeds {}ms or is unknown, routing reads to the primary", lag, maxLagMs);
+            }
+            replicaUsable = usable;
+        }
+    }
+    
+    /**
+     * @return replication lag in milliseconds, or -1 if replication is not running
+     */
+    private long readLagMs() throws SQLException {
+        try (Connection conn = replicaDataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            
+            if (!legacyStatusSyntax) {
+                try (ResultSet rs = stmt.executeQuery("SHOW REPLICA STATUS")) {
+                    return lagFrom(rs, "Seconds_Behind_Source");
+                } catch (SQLException e) {
+                    log.debug("SHOW REPLICA STATUS not supported, using SHOW SLAVE STATUS");
+                    legacyStatusSyntax = true;
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SHOW SLAVE STATUS")) {
+                return lagFrom(rs, "Seconds_Behind_Master");
+            }
+        }
+    }
+    
+    private static long lagFrom(ResultSet rs, String column) throws SQLException {
+        if (!rs.next()) {
+            return -1; // Not a replica
+        }
+        long seconds = rs.getLong(column);
+        return rs.wasNull() ? -1 : seconds * 1000;
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 
 /**
@@ -40,11 +41,28 @@ public class EventOutboxEntity {
     private String systemType;
     
     /**
-     * Serialized event payload as JSON.
+     * Serialized event payload for textual codecs (JSON).
      */
-    @Column(columnDefinition = "JSON", nullable = false)
+    @Column(columnDefinition = "JSON")
     private String payload;
     
+    /**
+     * Serialized event payload for binary codecs (CBOR).
+     */
+    @Column(name = "payload_binary", columnDefinition = "MEDIUMBLOB")
+    private byte[] payloadBinary;
+    
+    /**
+     * Name of the codec the payload was encoded with.
+     */
+    @Column(name = "payload_codec", length = 20, nullable = false)
+    @Builder.Default
+    private String payloadCodec = "json";
+    
+    @Column(name = "schema_version", nullable = false)
+    @Builder.Default
+    private int schemaVersion = 1;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", columnDefinition = "VARCHAR(20)", nullable = false)
     @Builder.Default
@@ -76,6 +94,18 @@ public class EventOutboxEntity {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
     
+    /**
+     * Token of the dispatcher batch currently holding this entry.
+     */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+    
+    /**
+     * When the current claim expires and the entry may be reclaimed.
+     */
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+    
     @Version
     @Column(nullable = false)
     private Long version;
@@ -116,6 +146,13 @@ public class EventOutboxEntity {
         updatedAt = Instant.now();
     }
     
+    /**
+     * Encoded payload bytes, exactly as they should be sent to Kafka.
+     */
+    public byte[] payloadBytes() {
+        return payloadBinary != null ? payloadBinary : payload.getBytes(StandardCharsets.UTF_8);
+    }
+    
     /**
      * Calculate next retry time with exponential backoff.
      * Formula: min(baseDelay * 2^retryCount, maxBackoff)
@@ -147,6 +184,7 @@ public class EventOutboxEntity {
     public void markDelivered() {
         status = OutboxStatus.DELIVERED;
         deliveredAt = Instant.now();
+        releaseClaim();
     }
     
     /**
@@ -155,5 +193,14 @@ public class EventOutboxEntity {
     public void moveToDlq(String reason) {
         status = OutboxStatus.DLQ;
         errorMessage = reason;
+        releaseClaim();
+    }
+    
+    /**
+     * Drop the dispatcher claim so the entry can be picked up again.
+     */
+    public void releaseClaim() {
+        claimToken = null;
+        leaseExpiresAt = null;
     }
 }
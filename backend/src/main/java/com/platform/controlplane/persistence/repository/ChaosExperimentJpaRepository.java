@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data JPA repository for chaos experiments.
@@ -21,6 +22,14 @@ public interface ChaosExperimentJpaRepository extends JpaRepository<ChaosExperim
      */
     List<ChaosExperimentEntity> findByStatus(ExperimentStatus status);
     
+    /**
+     * Find an experiment by ID on the primary.
+     * A declared query, unlike the inherited findById, runs outside a readOnly
+     * transaction, so it sees an experiment that was just started or stopped.
+     */
+    @Query("SELECT e FROM ChaosExperimentEntity e WHERE e.id = :id")
+    Optional<ChaosExperimentEntity> findFreshById(@Param("id") String id);
+    
     /**
      * Find all experiments by system type (case-insensitive).
      */
@@ -33,6 +33,15 @@ public interface EventOutboxRepository extends JpaRepository<EventOutboxEntity,
         Pageable pageable
     );
     
+    /**
+     * Find an event by ID on the primary.
+     * A declared query, unlike the inherited findById, runs outside a readOnly
+     * transaction, so retry and DLQ decisions see the current status and
+     * retry count.
+     */
+    @Query("SELECT e FROM EventOutboxEntity e WHERE e.id = :id")
+    Optional<EventOutboxEntity> findFreshById(@Param("id") String id);
+    
     /**
      * Atomically mark events as PROCESSING.
      * Uses optimistic locking to prevent concurrent dispatch.
@@ -43,6 +52,179 @@ public interface EventOutboxRepository extends JpaRepository<EventOutboxEntity,
            "WHERE e.id = :id AND e.status = 'PENDING'")
     int markAsProcessing(@Param("id") String id, @Param("now") Instant now);
     
+    /**
+     * Lock the next pending events ready for dispatch.
+     * Rows already locked by another dispatcher are skipped rather than waited on.
+     * Must run inside the transaction that claims them.
+     */
+    @Query(value = "SELECT id FROM event_outbox " +
+                   "WHERE status = 'PENDING' AND next_retry_at <= :now " +
+                   "ORDER BY created_at ASC " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<String> lockClaimableIds(@Param("now") Instant now, @Param("limit") int limit);
+    
+    /**
+     * Lock the next pending events of a set of dispatch shards.
+     * Events are assigned to a fixed number of global shards by CRC32 of their
+     * system type, so every event of a system is always drained by the
+     * replica and dispatcher worker owning its shard.
+     */
+    @Query(value = "SELECT id FROM event_outbox " +
+                   "WHERE status = 'PENDING' AND next_retry_at <= :now " +
+                   "AND MOD(CRC32(system_type), :shardCount) IN (:shards) " +
+                   "ORDER BY created_at ASC " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<String> lockClaimableIdsInShards(
+        @Param("now") Instant now,
+        @Param("shardCount") int shardCount,
+        @Param("shards") List<Integer> shards,
+        @Param("limit") int limit
+    );
+    
+    /**
+     * Count claims in one dispatch shard whose lease has not expired yet.
+     * A replica taking over a shard waits for these before draining it.
+     */
+    @Query(value = "SELECT COUNT(*) FROM event_outbox " +
+                   "WHERE status = 'PROCESSING' AND lease_expires_at > :now " +
+                   "AND MOD(CRC32(system_type), :shardCount) = :shard",
+           nativeQuery = true)
+    long countActiveClaimsInShard(
+        @Param("now") Instant now,
+        @Param("shardCount") int shardCount,
+        @Param("shard") int shard
+    );
+    
+    /**
+     * Mark locked events as PROCESSING under a claim token and lease.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EventOutboxEntity e SET e.status = 'PROCESSING', e.claimToken = :claimToken, " +
+           "e.leaseExpiresAt = :leaseExpiresAt, e.updatedAt = :now, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids AND e.status = 'PENDING'")
+    int markClaimed(
+        @Param("ids") List<String> ids,
+        @Param("claimToken") String claimToken,
+        @Param("leaseExpiresAt") Instant leaseExpiresAt,
+        @Param("now") Instant now
+    );
+    
+    /**
+     * Find events held by a claim token, oldest first.
+     */
+    List<EventOutboxEntity> findByClaimTokenOrderByCreatedAtAsc(String claimToken);
+    
+    /**
+     * Claim up to {@code limit} pending events in one transaction.
+     * Uses SELECT ... FOR UPDATE SKIP LOCKED plus a single UPDATE, so concurrent
+     * dispatchers (including other replicas) always receive disjoint batches.
+     */
+    @Transactional
+    default List<EventOutboxEntity> claimBatch(String claimToken, Instant now, Instant leaseExpiresAt, int limit) {
+        List<String> ids = lockClaimableIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        markClaimed(ids, claimToken, leaseExpiresAt, now);
+        return findByClaimTokenOrderByCreatedAtAsc(claimToken);
+    }
+    
+    /**
+     * Claim up to {@code limit} pending events of the given dispatch shards.
+     */
+    @Transactional
+    default List<EventOutboxEntity> claimBatch(String claimToken, Instant now, Instant leaseExpiresAt, int limit,
+                                               int shardCount, List<Integer> shards) {
+        if (shardCount <= 1) {
+            return claimBatch(claimToken, now, leaseExpiresAt, limit);
+        }
+        List<String> ids = lockClaimableIdsInShards(now, shardCount, shards, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        markClaimed(ids, claimToken, leaseExpiresAt, now);
+        return findByClaimTokenOrderByCreatedAtAsc(claimToken);
+    }
+    
+    /**
+     * Mark claimed events as DELIVERED.
+     * Only rows still held by the given claim token are updated, so a dispatcher
+     * whose lease expired cannot overwrite a newer claim.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventOutboxEntity e SET e.status = 'DELIVERED', e.deliveredAt = :now, e.updatedAt = :now, " +
+           "e.claimToken = NULL, e.leaseExpiresAt = NULL, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids AND e.claimToken = :claimToken")
+    int markDeliveredByClaim(
+        @Param("ids") List<String> ids,
+        @Param("claimToken") String claimToken,
+        @Param("now") Instant now
+    );
+    
+    /**
+     * Schedule claimed events for another attempt after a failed send.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventOutboxEntity e SET e.status = 'PENDING', e.retryCount = e.retryCount + 1, " +
+           "e.nextRetryAt = :nextRetryAt, e.errorMessage = :errorMessage, e.updatedAt = :now, " +
+           "e.claimToken = NULL, e.leaseExpiresAt = NULL, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids AND e.claimToken = :claimToken")
+    int scheduleRetryByClaim(
+        @Param("ids") List<String> ids,
+        @Param("claimToken") String claimToken,
+        @Param("nextRetryAt") Instant nextRetryAt,
+        @Param("errorMessage") String errorMessage,
+        @Param("now") Instant now
+    );
+    
+    /**
+     * Move claimed events to the dead-letter queue.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventOutboxEntity e SET e.status = 'DLQ', e.retryCount = e.retryCount + 1, " +
+           "e.errorMessage = :errorMessage, e.updatedAt = :now, " +
+           "e.claimToken = NULL, e.leaseExpiresAt = NULL, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids AND e.claimToken = :claimToken")
+    int moveToDlqByClaim(
+        @Param("ids") List<String> ids,
+        @Param("claimToken") String claimToken,
+        @Param("errorMessage") String errorMessage,
+        @Param("now") Instant now
+    );
+    
+    /**
+     * Return claimed but unsent events to PENDING without counting a retry.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventOutboxEntity e SET e.status = 'PENDING', e.nextRetryAt = :nextRetryAt, " +
+           "e.updatedAt = :now, e.claimToken = NULL, e.leaseExpiresAt = NULL, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids AND e.claimToken = :claimToken")
+    int releaseByClaim(
+        @Param("ids") List<String> ids,
+        @Param("claimToken") String claimToken,
+        @Param("nextRetryAt") Instant nextRetryAt,
+        @Param("now") Instant now
+    );
+    
+    /**
+     * Return events whose claim lease expired back to PENDING.
+     * Used for recovery when a claiming dispatcher crashes.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventOutboxEntity e SET e.status = 'PENDING', e.claimToken = NULL, " +
+           "e.leaseExpiresAt = NULL, e.updatedAt = :now, e.version = e.version + 1 " +
+           "WHERE e.status = 'PROCESSING' AND e.leaseExpiresAt < :now")
+    int releaseExpiredClaims(@Param("now") Instant now);
+    
     /**
      * Find by event ID (for idempotency check).
      */
@@ -69,11 +251,12 @@ public interface EventOutboxRepository extends JpaRepository<EventOutboxEntity,
     
     /**
      * Reset stale processing events back to pending.
+     * Claimed events are left to lease expiry instead.
      */
     @Modifying
     @Transactional
     @Query("UPDATE EventOutboxEntity e SET e.status = 'PENDING', e.updatedAt = :now " +
-           "WHERE e.status = 'PROCESSING' AND e.updatedAt < :staleThreshold")
+           "WHERE e.status = 'PROCESSING' AND e.claimToken IS NULL AND e.updatedAt < :staleThreshold")
     int resetStaleProcessingEvents(
         @Param("staleThreshold") Instant staleThreshold,
         @Param("now") Instant now
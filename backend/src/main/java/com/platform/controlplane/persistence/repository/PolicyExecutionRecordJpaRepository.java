@@ -26,6 +26,13 @@ public interface PolicyExecutionRecordJpaRepository extends JpaRepository<Policy
      */
     List<PolicyExecutionRecordEntity> findByPolicyIdOrderByExecutedAtDesc(String policyId, Pageable pageable);
     
+    /**
+     * Last execution time of every policy, as (policyId, executedAt) rows.
+     * Used to warm cooldowns in one query instead of one per policy.
+     */
+    @Query("SELECT r.policyId, MAX(r.executedAt) FROM PolicyExecutionRecordEntity r GROUP BY r.policyId")
+    List<Object[]> findLastExecutionTimes();
+    
     /**
      * Find recent execution records with optional filters.
      */
@@ -0,0 +1,46 @@
+package com.platform.controlplane.policy;
+
+import com.platform.controlplane.state.SystemStateContext;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Fields of {@link SystemStateContext} a policy condition can depend on.
+ * Used to re-evaluate only the policies whose inputs changed.
+ */
+public enum ConditionInput {
+    STATE,
+    LATENCY,
+    RETRY_COUNT,
+    CONSECUTIVE_FAILURES,
+    DURATION;
+    
+    /**
+     * Inputs that differ between two snapshots of a system's context.
+     */
+    public static Set<ConditionInput> changedBetween(SystemStateContext before, SystemStateContext after) {
+        Set<ConditionInput> changed = EnumSet.noneOf(ConditionInput.class);
+        if (before == null) {
+            changed.addAll(EnumSet.allOf(ConditionInput.class));
+            return changed;
+        }
+        if (before.currentState() != after.currentState()) {
+            changed.add(STATE);
+        }
+        if (before.latencyMs() != after.latencyMs()) {
+            changed.add(LATENCY);
+        }
+        if (before.retryCount() != after.retryCount()) {
+            changed.add(RETRY_COUNT);
+        }
+        if (before.consecutiveFailures() != after.consecutiveFailures()) {
+            changed.add(CONSECUTIVE_FAILURES);
+        }
+        if (!Objects.equals(before.lastTransitionTime(), after.lastTransitionTime())) {
+            changed.add(DURATION);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,11 @@
+package com.platform.controlplane.policy;
+
+/**
+ * Application event published when a policy is saved or deleted.
+ * Listeners bound to the transaction phase see it only after the change commits.
+ *
+ * @param policyId id of the changed policy
+ * @param policy the saved policy, or null if it was deleted
+ * @param version policy catalog version after the change
+ */
+public record PolicyCatalogChanged(String policyId, Policy policy, long version) {}
@@ -3,6 +3,9 @@ package com.platform.controlplane.policy;
 import com.platform.controlplane.state.SystemState;
 import com.platform.controlplane.state.SystemStateContext;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Interface for policy conditions that determine when a policy should trigger.
  */
@@ -18,6 +21,20 @@ public interface PolicyCondition {
      */
     String describe();
     
+    /**
+     * Context fields this condition reads. A change to any other field
+     * cannot change the outcome of {@link #evaluate}.
+     */
+    Set<ConditionInput> inputs();
+    
+    /**
+     * States this condition can only be true in, used to index policies.
+     * Empty if the condition does not depend on the state.
+     */
+    default Set<SystemState> referencedStates() {
+        return Set.of();
+    }
+    
     /**
      * State-based condition - triggers when system is in specific state for duration.
      */
@@ -68,6 +85,26 @@ public interface PolicyCondition {
             }
             return sb.toString();
         }
+        
+        @Override
+        public Set<ConditionInput> inputs() {
+            Set<ConditionInput> inputs = EnumSet.of(ConditionInput.STATE);
+            if (durationSeconds != null) {
+                inputs.add(ConditionInput.DURATION);
+            }
+            if (retryCountThreshold != null) {
+                inputs.add(ConditionInput.RETRY_COUNT);
+            }
+            if (consecutiveFailuresThreshold != null) {
+                inputs.add(ConditionInput.CONSECUTIVE_FAILURES);
+            }
+            return inputs;
+        }
+        
+        @Override
+        public Set<SystemState> referencedStates() {
+            return Set.of(state);
+        }
     }
     
     /**
@@ -86,6 +123,11 @@ public interface PolicyCondition {
         public String describe() {
             return "Latency > " + thresholdMs + "ms";
         }
+        
+        @Override
+        public Set<ConditionInput> inputs() {
+            return Set.of(ConditionInput.LATENCY);
+        }
     }
     
     /**
@@ -115,5 +157,33 @@ public interface PolicyCondition {
             sb.append(")");
             return sb.toString();
         }
+        
+        @Override
+        public Set<ConditionInput> inputs() {
+            Set<ConditionInput> inputs = EnumSet.noneOf(ConditionInput.class);
+            for (PolicyCondition condition : conditions) {
+                inputs.addAll(condition.inputs());
+            }
+            return inputs;
+        }
+        
+        @Override
+        public Set<SystemState> referencedStates() {
+            // All sub-conditions must hold, so only states allowed by every
+            // state-constrained sub-condition remain
+            Set<SystemState> states = null;
+            for (PolicyCondition condition : conditions) {
+                Set<SystemState> referenced = condition.referencedStates();
+                if (referenced.isEmpty()) {
+                    continue;
+                }
+                if (states == null) {
+                    states = EnumSet.copyOf(referenced);
+                } else {
+                    states.retainAll(referenced);
+                }
+            }
+            return states != null ? states : Set.of();
+        }
     }
 }
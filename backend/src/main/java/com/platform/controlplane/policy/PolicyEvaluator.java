@@ -1,27 +1,35 @@
 package com.platform.controlplane.policy;
 
+import com.platform.controlplane.cluster.LeaderElectionService;
+import com.platform.controlplane.model.LeadershipChange;
 import com.platform.controlplane.observability.MetricsRegistry;
 import com.platform.controlplane.persistence.EntityMappers;
 import com.platform.controlplane.persistence.entity.PolicyExecutionRecordEntity;
 import com.platform.controlplane.persistence.repository.PolicyExecutionRecordJpaRepository;
 import com.platform.controlplane.state.SystemStateContext;
 import com.platform.controlplane.state.SystemStateMachine;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Evaluates policies and triggers actions when conditions are met.
  * Includes cooldown management and execution history tracking.
  * 
- * Execution records are persisted to database for durability.
+ * Execution records are persisted to database for durability, batched off
+ * the evaluation path by {@link PolicyExecutionRecordWriter}. Cooldowns are
+ * warmed with one grouped query at startup and on gaining leadership.
  */
 @Slf4j
 @Component
@@ -29,10 +37,15 @@ public class PolicyEvaluator {
     
     private final ActionExecutor actionExecutor;
     private final SystemStateMachine stateMachine;
-    private final PolicyRepository policyRepository;
+    private final PolicyIndex policyIndex;
     private final MetricsRegistry metricsRegistry;
     private final PolicyExecutionRecordJpaRepository executionRecordRepository;
     private final EntityMappers entityMappers;
+    private final PolicyExecutionRecordWriter recordWriter;
+    private final LeaderElectionService leaderElection;
+    
+    // Set once cooldowns were loaded; until then misses fall back to a per-policy lookup
+    private volatile boolean cooldownsWarmed = false;
     
     // Track last execution time per policy to enforce cooldowns (in-memory cache)
     private final Map<String, Instant> lastExecutionTimes = new ConcurrentHashMap<>();
@@ -42,27 +55,97 @@ public class PolicyEvaluator {
     public PolicyEvaluator(
             ActionExecutor actionExecutor,
             SystemStateMachine stateMachine,
-            PolicyRepository policyRepository,
+            PolicyIndex policyIndex,
             MetricsRegistry metricsRegistry,
             PolicyExecutionRecordJpaRepository executionRecordRepository,
-            EntityMappers entityMappers) {
+            EntityMappers entityMappers,
+            PolicyExecutionRecordWriter recordWriter,
+            LeaderElectionService leaderElection) {
         this.actionExecutor = actionExecutor;
         this.stateMachine = stateMachine;
-        this.policyRepository = policyRepository;
+        this.policyIndex = policyIndex;
         this.metricsRegistry = metricsRegistry;
         this.executionRecordRepository = executionRecordRepository;
         this.entityMappers = entityMappers;
+        this.recordWriter = recordWriter;
+        this.leaderElection = leaderElection;
+    }
+    
+    @PostConstruct
+    public void init() {
+        warmCooldowns();
     }
     
     /**
-     * Evaluate all policies for a given system and execute matching ones.
-     * This is triggered on state transitions, metric updates, etc.
+     * Reload cooldowns on becoming leader; the previous leader executed
+     * policies this instance has not seen.
+     */
+    @EventListener
+    public void onLeadershipChange(LeadershipChange change) {
+        if (change.leader()) {
+            warmCooldowns();
+        }
+    }
+    
+    /**
+     * Load the last execution time of every policy in one query.
+     */
+    private void warmCooldowns() {
+        try {
+            List<Object[]> rows = executionRecordRepository.findLastExecutionTimes();
+            for (Object[] row : rows) {
+                lastExecutionTimes.merge((String) row[0], (Instant) row[1],
+                    (cached, loaded) -> cached.isAfter(loaded) ? cached : loaded);
+            }
+            cooldownsWarmed = true;
+            log.info("Warmed cooldowns of {} policies", rows.size());
+        } catch (Exception e) {
+            log.warn("Failed to warm policy cooldowns, falling back to per-policy lookups: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Evaluate all policies for a given system and execute matching ones,
+     * outside any leader lease term (manual evaluation).
      */
     public List<PolicyExecutionRecord> evaluateForSystem(String systemType) {
+        return evaluateForSystem(systemType, LeaderElectionService.UNFENCED);
+    }
+    
+    /**
+     * Evaluate all policies for a given system and execute matching ones.
+     * Used by the periodic sweep, which also catches duration thresholds
+     * that are crossed without any context change.
+     * 
+     * @param fencingToken leader lease term the evaluation runs under; actions
+     *        and records are rejected once another instance took the lease over
+     */
+    public List<PolicyExecutionRecord> evaluateForSystem(String systemType, long fencingToken) {
         log.debug("Evaluating policies for system: {}", systemType);
         
         SystemStateContext context = stateMachine.getContext(systemType);
-        List<Policy> applicablePolicies = policyRepository.findBySystemType(systemType);
+        return evaluatePolicies(systemType, context, policyIndex.forSystemInState(systemType, context.currentState()),
+            fencingToken);
+    }
+    
+    /**
+     * Evaluate only the policies whose conditions read one of the changed
+     * context inputs, e.g. latency policies on a latency update.
+     */
+    public List<PolicyExecutionRecord> evaluateAffected(String systemType, Set<ConditionInput> changedInputs,
+                                                        long fencingToken) {
+        SystemStateContext context = stateMachine.getContext(systemType);
+        List<Policy> affected = policyIndex.affectedBy(systemType, context.currentState(), changedInputs);
+        if (affected.isEmpty()) {
+            return List.of();
+        }
+        
+        log.debug("Evaluating {} policies affected by {} for system: {}", affected.size(), changedInputs, systemType);
+        return evaluatePolicies(systemType, context, affected, fencingToken);
+    }
+    
+    private List<PolicyExecutionRecord> evaluatePolicies(String systemType, SystemStateContext context,
+                                                         List<Policy> applicablePolicies, long fencingToken) {
         List<PolicyExecutionRecord> executions = new ArrayList<>();
         
         for (Policy policy : applicablePolicies) {
@@ -81,7 +164,8 @@ public class PolicyEvaluator {
                 continue;
             }
             
-            // Execute action
+            // Execute action, unless another instance has taken the lease over
+            leaderElection.checkFencingToken(fencingToken);
             log.info("Policy '{}' triggered for system: {}", policy.getName(), systemType);
             
             // Set MDC for logging correlation
@@ -99,7 +183,7 @@ public class PolicyEvaluator {
             lastExecutionTimes.put(policy.getId(), Instant.now());
             
             // Persist to database
-            persistExecutionRecord(record);
+            persistExecutionRecord(record, fencingToken);
             
             MDC.clear();
             
@@ -113,7 +197,7 @@ public class PolicyEvaluator {
      * Evaluate a specific policy for a system.
      */
     public PolicyExecutionRecord evaluatePolicy(String policyId, String systemType) {
-        Policy policy = policyRepository.findById(policyId)
+        Policy policy = policyIndex.get(policyId)
             .orElseThrow(() -> new IllegalArgumentException("Policy not found: " + policyId));
         
         if (!policy.appliesTo(systemType)) {
@@ -134,24 +218,28 @@ public class PolicyEvaluator {
                 .message("Condition not met: " + policy.getCondition().describe())
                 .durationMs(0)
                 .build();
-            persistExecutionRecord(record);
+            persistExecutionRecord(record, LeaderElectionService.UNFENCED);
             return record;
         }
         
         PolicyExecutionRecord record = actionExecutor.execute(policy, systemType);
         lastExecutionTimes.put(policy.getId(), Instant.now());
-        persistExecutionRecord(record);
+        persistExecutionRecord(record, LeaderElectionService.UNFENCED);
         
         return record;
     }
     
     /**
-     * Persist execution record to database.
+     * Persist execution record to database, fenced by the lease term it was
+     * produced under. Written directly only when the async writer is
+     * disabled or full.
      */
-    private void persistExecutionRecord(PolicyExecutionRecord record) {
+    private void persistExecutionRecord(PolicyExecutionRecord record, long fencingToken) {
         try {
             PolicyExecutionRecordEntity entity = entityMappers.toEntity(record);
-            executionRecordRepository.save(entity);
+            if (!recordWriter.enqueue(entity, fencingToken)) {
+                recordWriter.write(entity, fencingToken);
+            }
         } catch (Exception e) {
             log.error("Failed to persist execution record: {}", e.getMessage());
         }
@@ -163,6 +251,9 @@ public class PolicyEvaluator {
     private boolean isCooldownExpired(Policy policy) {
         Instant lastExecution = lastExecutionTimes.get(policy.getId());
         if (lastExecution == null) {
+            if (cooldownsWarmed) {
+                return true; // Never executed
+            }
             // Check database for last execution
             List<PolicyExecutionRecordEntity> recent = executionRecordRepository
                 .findByPolicyIdOrderByExecutedAtDesc(policy.getId(), PageRequest.of(0, 1));
@@ -180,7 +271,9 @@ public class PolicyEvaluator {
     
     /**
      * Get execution history, optionally filtered by system and/or policy.
+     * Read-only, so it may be served by the read replica.
      */
+    @Transactional(readOnly = true)
     public List<PolicyExecutionRecord> getExecutionHistory(String systemType, String policyId, int limit) {
         int actualLimit = limit > 0 ? limit : DEFAULT_HISTORY_LIMIT;
         
@@ -196,6 +289,7 @@ public class PolicyEvaluator {
     /**
      * Get all execution history (with default limit).
      */
+    @Transactional(readOnly = true)
     public List<PolicyExecutionRecord> getExecutionHistory() {
         return getExecutionHistory(null, null, DEFAULT_HISTORY_LIMIT);
     }
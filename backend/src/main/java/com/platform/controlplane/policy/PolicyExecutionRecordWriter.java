@@ -0,0 +1,232 @@
+package com.platform.controlplane.policy;
+
+import com.platform.controlplane.cluster.LeaderElectionService;
+import com.platform.controlplane.error.StaleLeaderException;
+import com.platform.controlplane.observability.MetricsRegistry;
+import com.platform.controlplane.persistence.entity.PolicyExecutionRecordEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for policy execution records.
+ * 
+ * Evaluations enqueue records into a bounded buffer. A single writer thread
+ * inserts them as one JDBC batch, either when max-batch-size records are
+ * buffered or flush-interval-ms after the first one arrived.
+ * 
+ * Features:
+ * - Bounded memory: a full buffer is reported to the caller, which then
+ *   saves the record itself instead of dropping it
+ * - Idempotent inserts (ON DUPLICATE KEY), so a retried batch is harmless
+ * - Fenced: records are written in one transaction with a check of the
+ *   leader lease term they were produced under, and dropped once another
+ *   instance has taken the lease over
+ * - Flushed on shutdown by GracefulShutdownManager, and again on destroy
+ */
+@Slf4j
+@Component
+public class PolicyExecutionRecordWriter {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO policy_execution_records (id, policy_id, policy_name, system_type, action, success, " +
+        "message, executed_at, duration_ms) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE id = id";
+    
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderElectionService leaderElection;
+    private final MetricsRegistry metricsRegistry;
+    
+    @Value("${controlplane.policy.execution-records.async:true}")
+    private boolean enabled;
+    
+    @Value("${controlplane.policy.execution-records.max-batch-size:100}")
+    private int maxBatchSize;
+    
+    @Value("${controlplane.policy.execution-records.flush-interval-ms:200}")
+    private long flushIntervalMs;
+    
+    private final BlockingQueue<PendingRecord> buffer;
+    private volatile boolean running = false;
+    private Thread writerThread;
+    
+    public PolicyExecutionRecordWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            LeaderElectionService leaderElection,
+            MetricsRegistry metricsRegistry,
+            @Value("${controlplane.policy.execution-records.buffer-capacity:1000}") int bufferCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaderElection = leaderElection;
+        this.metricsRegistry = metricsRegistry;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+    
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriteLoop, "policy-record-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Async policy execution records enabled (maxBatchSize={}, flushIntervalMs={}, capacity={})",
+            maxBatchSize, flushIntervalMs, buffer.remainingCapacity());
+    }
+    
+    /**
+     * Stop the writer and flush whatever is still buffered.
+     * Safe to call more than once.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        List<PendingRecord> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Flushing {} buffered policy execution records on shutdown", remaining.size());
+            flush(remaining);
+        }
+    }
+    
+    /**
+     * Buffer a record for the next batch insert.
+     * 
+     * @param fencingToken lease term the record was produced under, or
+     *        {@link LeaderElectionService#UNFENCED}
+     * @return false if the writer is stopped or the buffer is full, in which
+     *         case the caller should write the record itself
+     */
+    public boolean enqueue(PolicyExecutionRecordEntity record, long fencingToken) {
+        if (!running || !buffer.offer(new PendingRecord(record, fencingToken))) {
+            metricsRegistry.incrementCounter("policy.execution_records.overflow");
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Write one record synchronously, fenced like a buffered batch.
+     */
+    public void write(PolicyExecutionRecordEntity record, long fencingToken) {
+        flush(List.of(new PendingRecord(record, fencingToken)));
+    }
+    
+    private void runWriteLoop() {
+        List<PendingRecord> batch = new ArrayList<>(maxBatchSize);
+        
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingRecord first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                
+                // Linger so records of one evaluation burst share a batch
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < maxBatchSize) {
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        buffer.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    PendingRecord next = buffer.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                
+                flush(batch);
+                
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Insert a batch of records, one transaction per lease term.
+     */
+    private void flush(List<PendingRecord> batch) {
+        Map<Long, List<PolicyExecutionRecordEntity>> byTerm = new LinkedHashMap<>();
+        batch.forEach(pending -> byTerm.computeIfAbsent(pending.fencingToken(), k -> new ArrayList<>())
+            .add(pending.record()));
+        byTerm.forEach(this::insert);
+    }
+    
+    private void insert(long fencingToken, List<PolicyExecutionRecordEntity> records) {
+        long startTime = System.currentTimeMillis();
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                leaderElection.checkFencingToken(fencingToken);
+                jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), this::bindRecord);
+            });
+        } catch (StaleLeaderException e) {
+            log.warn("Dropped {} policy execution records of a lease term taken over by another instance: {}",
+                records.size(), e.getMessage());
+            metricsRegistry.incrementCounter("policy.execution_records.fenced");
+            return;
+        } catch (Exception e) {
+            log.error("Failed to persist {} policy execution records: {}", records.size(), e.getMessage());
+            metricsRegistry.incrementCounter("policy.execution_records.failed");
+            return;
+        }
+        
+        long latency = System.currentTimeMillis() - startTime;
+        metricsRegistry.recordLatency("policy.execution_records", "batch_insert", latency);
+        log.debug("Persisted {} policy execution records in {}ms", records.size(), latency);
+    }
+    
+    private void bindRecord(PreparedStatement ps, PolicyExecutionRecordEntity record) throws SQLException {
+        ps.setString(1, record.getId());
+        ps.setString(2, record.getPolicyId());
+        ps.setString(3, record.getPolicyName());
+        ps.setString(4, record.getSystemType());
+        ps.setString(5, record.getAction().name());
+        ps.setBoolean(6, record.isSuccess());
+        ps.setString(7, record.getMessage());
+        ps.setTimestamp(8, Timestamp.from(record.getExecutedAt()), UTC);
+        ps.setLong(9, record.getDurationMs());
+    }
+    
+    private record PendingRecord(PolicyExecutionRecordEntity record, long fencingToken) {}
+}
@@ -0,0 +1,263 @@
+package com.platform.controlplane.policy;
+
+import com.platform.controlplane.state.SystemState;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of compiled policies, so evaluation never touches the database.
+ * 
+ * Features:
+ * - Policies parsed once, indexed by system type and by the states their
+ *   conditions reference
+ * - Per state, policies also indexed by the context inputs their conditions
+ *   read, so a change re-evaluates only the conditions it can affect
+ * - Immutable snapshots swapped atomically; readers never lock
+ * - Local saves and deletes applied incrementally after commit
+ * - Catalog version (policy_catalog_version) polled to pick up changes
+ *   made by other replicas with a full reload
+ */
+@Slf4j
+@Component
+public class PolicyIndex {
+    
+    private final PolicyRepository policyRepository;
+    
+    private volatile Snapshot snapshot = Snapshot.build(Map.of(), -1);
+    
+    public PolicyIndex(PolicyRepository policyRepository) {
+        this.policyRepository = policyRepository;
+    }
+    
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+    
+    /**
+     * Enabled policies applying to a system, including wildcard policies.
+     */
+    public List<Policy> forSystem(String systemType) {
+        return snapshot.forSystem(systemType);
+    }
+    
+    /**
+     * Enabled policies applying to a system that can fire in the given state:
+     * those whose condition references it plus state-independent ones.
+     */
+    public List<Policy> forSystemInState(String systemType, SystemState state) {
+        return snapshot.forSystemInState(systemType, state);
+    }
+    
+    /**
+     * Enabled policies applying to a system, able to fire in the given state,
+     * whose conditions read at least one of the changed inputs.
+     */
+    public List<Policy> affectedBy(String systemType, SystemState state, Set<ConditionInput> changed) {
+        return snapshot.affectedBy(systemType, state, changed);
+    }
+    
+    /**
+     * Any indexed policy (enabled or not) by id.
+     */
+    public Optional<Policy> get(String policyId) {
+        return Optional.ofNullable(snapshot.byId.get(policyId));
+    }
+    
+    public long getVersion() {
+        return snapshot.version;
+    }
+    
+    /**
+     * Apply a committed local change. Falls back to a full reload when the
+     * change is not the next version, i.e. another replica changed the
+     * catalog in between.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onPolicyChanged(PolicyCatalogChanged event) {
+        Snapshot current = snapshot;
+        if (event.version() != current.version + 1) {
+            reload();
+            return;
+        }
+        
+        Map<String, Policy> byId = new LinkedHashMap<>(current.byId);
+        if (event.policy() == null) {
+            byId.remove(event.policyId());
+        } else {
+            byId.put(event.policyId(), event.policy());
+        }
+        snapshot = Snapshot.build(byId, event.version());
+        log.debug("Policy index updated to version {} ({})", event.version(), event.policyId());
+    }
+    
+    /**
+     * Reload the index if the catalog version moved, e.g. a policy changed on another replica.
+     */
+    @Scheduled(fixedDelayString = "${controlplane.policy.index.version-check-interval-ms:5000}")
+    public void checkVersion() {
+        try {
+            if (policyRepository.currentVersion() != snapshot.version) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to check policy catalog version: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Rebuild the whole index from the database. The version and the
+     * policies come from one transaction, so a concurrent change cannot
+     * leave the index at a version it does not contain.
+     */
+    public synchronized void reload() {
+        try {
+            PolicyRepository.Catalog catalog = policyRepository.loadCatalog();
+            Map<String, Policy> byId = new LinkedHashMap<>();
+            for (Policy policy : catalog.policies()) {
+                byId.put(policy.getId(), policy);
+            }
+            snapshot = Snapshot.build(byId, catalog.version());
+            log.info("Policy index loaded: {} policies at version {}", byId.size(), catalog.version());
+        } catch (Exception e) {
+            log.error("Failed to load policy index, keeping version {}: {}", snapshot.version, e.getMessage());
+        }
+    }
+    
+    /**
+     * Immutable view of the catalog at one version.
+     */
+    private static final class Snapshot {
+        private final long version;
+        private final Map<String, Policy> byId;
+        private final Map<String, List<Policy>> bySystem;
+        private final List<Policy> wildcard;
+        private final Map<String, Map<SystemState, List<Policy>>> byState;
+        private final Map<String, Map<SystemState, Map<ConditionInput, List<Policy>>>> byInput;
+        
+        // Merged system + wildcard views, filled on first use
+        private final Map<String, List<Policy>> resolved = new ConcurrentHashMap<>();
+        private final Map<String, Map<SystemState, List<Policy>>> resolvedByState = new ConcurrentHashMap<>();
+        
+        private Snapshot(long version, Map<String, Policy> byId, Map<String, List<Policy>> bySystem,
+                         List<Policy> wildcard, Map<String, Map<SystemState, List<Policy>>> byState,
+                         Map<String, Map<SystemState, Map<ConditionInput, List<Policy>>>> byInput) {
+            this.version = version;
+            this.byId = byId;
+            this.bySystem = bySystem;
+            this.wildcard = wildcard;
+            this.byState = byState;
+            this.byInput = byInput;
+        }
+        
+        static Snapshot build(Map<String, Policy> policies, long version) {
+            Map<String, List<Policy>> bySystem = new HashMap<>();
+            List<Policy> wildcard = new ArrayList<>();
+            Map<String, Map<SystemState, List<Policy>>> byState = new HashMap<>();
+            Map<String, Map<SystemState, Map<ConditionInput, List<Policy>>>> byInput = new HashMap<>();
+            
+            for (Policy policy : policies.values()) {
+                if (!policy.isEnabled()) {
+                    continue;
+                }
+                String key = systemKey(policy.getSystemType());
+                if ("*".equals(key)) {
+                    wildcard.add(policy);
+                } else {
+                    bySystem.computeIfAbsent(key, k -> new ArrayList<>()).add(policy);
+                }
+                // State-independent conditions (e.g. latency) can fire in any state
+                Set<SystemState> states = policy.getCondition().referencedStates();
+                for (SystemState state : states.isEmpty() ? EnumSet.allOf(SystemState.class) : states) {
+                    byState.computeIfAbsent(key, k -> new EnumMap<>(SystemState.class))
+                        .computeIfAbsent(state, s -> new ArrayList<>())
+                        .add(policy);
+                    for (ConditionInput input : policy.getCondition().inputs()) {
+                        byInput.computeIfAbsent(key, k -> new EnumMap<>(SystemState.class))
+                            .computeIfAbsent(state, s -> new EnumMap<>(ConditionInput.class))
+                            .computeIfAbsent(input, i -> new ArrayList<>())
+                            .add(policy);
+                    }
+                }
+            }
+            
+            return new Snapshot(version, Map.copyOf(policies), freeze(bySystem), List.copyOf(wildcard),
+                freezeNested(byState), byInput);
+        }
+        
+        List<Policy> forSystem(String systemType) {
+            return resolved.computeIfAbsent(systemKey(systemType),
+                key -> concat(bySystem.getOrDefault(key, List.of()), wildcard));
+        }
+        
+        List<Policy> forSystemInState(String systemType, SystemState state) {
+            return resolvedByState.computeIfAbsent(systemKey(systemType), key -> {
+                Map<SystemState, List<Policy>> merged = new EnumMap<>(SystemState.class);
+                for (SystemState s : SystemState.values()) {
+                    merged.put(s, concat(
+                        byState.getOrDefault(key, Map.of()).getOrDefault(s, List.of()),
+                        byState.getOrDefault("*", Map.of()).getOrDefault(s, List.of())));
+                }
+                return merged;
+            }).get(state);
+        }
+        
+        List<Policy> affectedBy(String systemType, SystemState state, Set<ConditionInput> changed) {
+            String key = systemKey(systemType);
+            // A policy reading several changed inputs is listed under each of them
+            Set<Policy> affected = new LinkedHashSet<>();
+            for (ConditionInput input : changed) {
+                affected.addAll(lookup(key, state, input));
+                affected.addAll(lookup("*", state, input));
+            }
+            return List.copyOf(affected);
+        }
+        
+        private List<Policy> lookup(String key, SystemState state, ConditionInput input) {
+            return byInput.getOrDefault(key, Map.of())
+                .getOrDefault(state, Map.of())
+                .getOrDefault(input, List.of());
+        }
+        
+        private static String systemKey(String systemType) {
+            return systemType.toLowerCase(Locale.ROOT);
+        }
+        
+        private static List<Policy> concat(Collection<Policy> a, Collection<Policy> b) {
+            List<Policy> all = new ArrayList<>(a.size() + b.size());
+            all.addAll(a);
+            all.addAll(b);
+            return List.copyOf(all);
+        }
+        
+        private static <K, V> Map<K, List<V>> freeze(Map<K, List<V>> map) {
+            Map<K, List<V>> frozen = new HashMap<>();
+            map.forEach((k, v) -> frozen.put(k, List.copyOf(v)));
+            return Map.copyOf(frozen);
+        }
+        
+        private static <K> Map<K, Map<SystemState, List<Policy>>> freezeNested(Map<K, Map<SystemState, List<Policy>>> map) {
+            Map<K, Map<SystemState, List<Policy>>> frozen = new HashMap<>();
+            map.forEach((k, v) -> frozen.put(k, freeze(v)));
+            return Map.copyOf(frozen);
+        }
+    }
+}
@@ -3,7 +3,11 @@ package com.platform.controlplane.policy;
 import com.platform.controlplane.persistence.EntityMappers;
 import com.platform.controlplane.persistence.entity.PolicyEntity;
 import com.platform.controlplane.persistence.repository.PolicyJpaRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,25 +15,39 @@ import java.util.Optional;
 /**
  * Repository for policies.
  * Delegates to JPA repository for persistent storage.
+ * 
+ * Every save and delete bumps the catalog version in the same transaction
+ * and publishes a {@link PolicyCatalogChanged} event for {@link PolicyIndex}.
  */
 @Component
 public class PolicyRepository {
     
     private final PolicyJpaRepository jpaRepository;
     private final EntityMappers entityMappers;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     
-    public PolicyRepository(PolicyJpaRepository jpaRepository, EntityMappers entityMappers) {
+    public PolicyRepository(
+            PolicyJpaRepository jpaRepository,
+            EntityMappers entityMappers,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher) {
         this.jpaRepository = jpaRepository;
         this.entityMappers = entityMappers;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
      * Save a policy.
      */
+    @Transactional
     public Policy save(Policy policy) {
         PolicyEntity entity = entityMappers.toEntity(policy);
         entity = jpaRepository.save(entity);
-        return entityMappers.toDomain(entity);
+        Policy saved = entityMappers.toDomain(entity);
+        eventPublisher.publishEvent(new PolicyCatalogChanged(saved.getId(), saved, bumpVersion()));
+        return saved;
     }
     
     /**
@@ -78,9 +96,11 @@ public class PolicyRepository {
     /**
      * Delete policy by ID.
      */
+    @Transactional
     public boolean deleteById(String id) {
         if (jpaRepository.existsById(id)) {
             jpaRepository.deleteById(id);
+            eventPublisher.publishEvent(new PolicyCatalogChanged(id, null, bumpVersion()));
             return true;
         }
         return false;
@@ -99,4 +119,42 @@ public class PolicyRepository {
     public long count() {
         return jpaRepository.count();
     }
+    
+    /**
+     * Current policy catalog version.
+     */
+    public long currentVersion() {
+        Long version = jdbcTemplate.queryForObject(
+            "SELECT version FROM policy_catalog_version WHERE id = 1", new MapSqlParameterSource(), Long.class);
+        return version != null ? version : 0;
+    }
+    
+    /**
+     * Catalog version and every policy, read in one read-write transaction.
+     * Both reads see the same InnoDB snapshot on the primary, so the version
+     * always matches the policies; a readOnly transaction could be routed to
+     * a lagging replica.
+     */
+    @Transactional
+    public Catalog loadCatalog() {
+        long version = currentVersion();
+        return new Catalog(version, findAll());
+    }
+    
+    /**
+     * Policies of the catalog at one version.
+     */
+    public record Catalog(long version, List<Policy> policies) {}
+    
+    /**
+     * Increment the catalog version within the current transaction.
+     * LAST_INSERT_ID(expr) returns the new value on this connection without a second row read.
+     */
+    private long bumpVersion() {
+        jdbcTemplate.update(
+            "UPDATE policy_catalog_version SET version = LAST_INSERT_ID(version + 1) WHERE id = 1",
+            new MapSqlParameterSource());
+        Long version = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", new MapSqlParameterSource(), Long.class);
+        return version != null ? version : 0;
+    }
 }
@@ -1,32 +1,45 @@
 package com.platform.controlplane.policy;
 
+import com.platform.controlplane.cluster.LeaderElectionService;
+import com.platform.controlplane.error.StaleLeaderException;
 import com.platform.controlplane.observability.MetricsRegistry;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Automatic policy evaluation scheduler.
  * 
  * Runs policy evaluation:
  * 1. Periodically (configurable interval)
- * 2. On state change events (event-triggered)
+ * 2. On state change and latency update events (event-triggered), for the
+ *    policies whose conditions read the changed inputs only
  * 
  * Features:
  * - Idempotent evaluation (cooldown enforcement)
  * - Audit logging for all evaluations
  * - Failure retry with logging
  * - Observable metrics
+ * - Runs on the cluster leader only, so actions are never duplicated
+ * - Event-triggered evaluations run on a small bounded pool, one at a time
+ *   per system, with changes arriving meanwhile coalesced into one run
  */
 @Slf4j
 @Service
@@ -36,6 +49,7 @@ public class PolicySchedulerService {
     private final PolicyRepository policyRepository;
     private final MetricsRegistry metricsRegistry;
     private final MeterRegistry meterRegistry;
+    private final LeaderElectionService leaderElection;
     
     @Value("${controlplane.policy.scheduler.enabled:true}")
     private boolean enabled;
@@ -46,6 +60,18 @@ public class PolicySchedulerService {
     @Value("${controlplane.policy.scheduler.max-retries:3}")
     private int maxRetries;
     
+    @Value("${controlplane.policy.scheduler.event-workers:2}")
+    private int eventWorkers;
+    
+    @Value("${controlplane.policy.scheduler.event-queue-capacity:64}")
+    private int eventQueueCapacity;
+    
+    private ThreadPoolTaskExecutor eventExecutor;
+    
+    // Inputs changed since the last event-triggered evaluation; an entry exists
+    // while an evaluation of the system is queued or running
+    private final Map<String, Set<ConditionInput>> pendingChanges = new ConcurrentHashMap<>();
+    
     // Metrics
     private final AtomicLong evaluationCount = new AtomicLong(0);
     private final AtomicLong triggeredCount = new AtomicLong(0);
@@ -56,11 +82,13 @@ public class PolicySchedulerService {
             PolicyEvaluator policyEvaluator,
             PolicyRepository policyRepository,
             MetricsRegistry metricsRegistry,
-            MeterRegistry meterRegistry) {
+            MeterRegistry meterRegistry,
+            LeaderElectionService leaderElection) {
         this.policyEvaluator = policyEvaluator;
         this.policyRepository = policyRepository;
         this.metricsRegistry = metricsRegistry;
         this.meterRegistry = meterRegistry;
+        this.leaderElection = leaderElection;
     }
     
     @PostConstruct
@@ -78,21 +106,40 @@ public class PolicySchedulerService {
             .description("Total evaluation failures")
             .register(meterRegistry);
         
+        eventExecutor = new ThreadPoolTaskExecutor();
+        eventExecutor.setCorePoolSize(eventWorkers);
+        eventExecutor.setMaxPoolSize(eventWorkers);
+        eventExecutor.setQueueCapacity(eventQueueCapacity);
+        eventExecutor.setThreadNamePrefix("policy-eval-");
+        eventExecutor.setDaemon(true);
+        eventExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        eventExecutor.setAwaitTerminationMillis(5000);
+        eventExecutor.initialize();
+        
         log.info("Policy scheduler initialized (enabled={}, systems={})", enabled, monitoredSystems);
     }
     
+    @PreDestroy
+    public void shutdown() {
+        if (eventExecutor != null) {
+            eventExecutor.shutdown();
+        }
+    }
+    
     /**
      * Periodic evaluation loop.
      * Runs every 10 seconds by default (configurable).
      */
     @Scheduled(fixedDelayString = "${controlplane.policy.scheduler.interval-ms:10000}")
     public void periodicEvaluation() {
-        if (!enabled) {
+        if (!enabled || !leaderElection.isLeader()) {
             return;
         }
         
         long cycleId = System.currentTimeMillis();
+        long fencingToken = leaderElection.getFencingToken();
         MDC.put("evaluationCycleId", String.valueOf(cycleId));
+        MDC.put("fencingToken", String.valueOf(fencingToken));
         
         log.debug("Starting periodic policy evaluation cycle");
         
@@ -100,8 +147,12 @@ public class PolicySchedulerService {
         int totalErrors = 0;
         
         for (String systemType : monitoredSystems) {
+            if (!leaderElection.isLeader()) {
+                log.warn("Lost leadership during policy evaluation, stopping cycle");
+                break;
+            }
             try {
-                List<PolicyExecutionRecord> results = evaluateWithRetry(systemType);
+                List<PolicyExecutionRecord> results = evaluateWithRetry(systemType, null, fencingToken);
                 totalTriggered += results.size();
                 
                 for (PolicyExecutionRecord record : results) {
@@ -113,6 +164,9 @@ public class PolicySchedulerService {
                         record.getDurationMs());
                 }
                 
+            } catch (StaleLeaderException e) {
+                log.warn("Leader lease taken over during policy evaluation, stopping cycle: {}", e.getMessage());
+                break;
             } catch (Exception e) {
                 log.error("Policy evaluation failed for {}: {}", systemType, e.getMessage());
                 totalErrors++;
@@ -134,21 +188,97 @@ public class PolicySchedulerService {
     
     /**
      * Event-triggered evaluation.
-     * Called when system state changes.
+     * Called when system state changes, possibly under the state machine
+     * lock, so it only queues the evaluation.
      */
-    public void onStateChange(String systemType, String previousState, String newState) {
-        if (!enabled) {
+    public void onStateChange(String systemType, String previousState, String newState,
+                              Set<ConditionInput> changedInputs) {
+        if (!enabled || !leaderElection.isLeader()) {
             return;
         }
         
-        log.info("State change detected for {}: {} -> {}, triggering policy evaluation",
+        log.info("State change detected for {}: {} -> {}, queueing policy evaluation",
             systemType, previousState, newState);
+        enqueue(systemType, changedInputs);
+    }
+    
+    /**
+     * Event-triggered evaluation of latency policies.
+     * Called on every latency update; only queues the evaluation.
+     */
+    public void onLatencyChange(String systemType) {
+        if (!enabled || !leaderElection.isLeader()) {
+            return;
+        }
+        
+        enqueue(systemType, Set.of(ConditionInput.LATENCY));
+    }
+    
+    /**
+     * Queue an evaluation of the policies affected by the changed inputs.
+     * While an evaluation of the system is queued or running, further
+     * changes are merged into one follow-up evaluation.
+     */
+    private void enqueue(String systemType, Set<ConditionInput> changedInputs) {
+        boolean[] schedule = {false};
+        pendingChanges.compute(systemType, (key, pending) -> {
+            if (pending == null) {
+                schedule[0] = true;
+                pending = EnumSet.noneOf(ConditionInput.class);
+            } else if (!pending.isEmpty()) {
+                metricsRegistry.incrementCounter("policy.scheduler.event_coalesced", "system", systemType);
+            }
+            pending.addAll(changedInputs);
+            return pending;
+        });
         
-        MDC.put("trigger", "state_change");
+        if (!schedule[0]) {
+            return;
+        }
+        try {
+            eventExecutor.execute(() -> drainEvents(systemType));
+        } catch (TaskRejectedException e) {
+            // Left to the periodic evaluation
+            pendingChanges.remove(systemType);
+            metricsRegistry.incrementCounter("policy.scheduler.event_rejected", "system", systemType);
+            log.warn("Policy evaluation queue full, dropped event-triggered evaluation for {}", systemType);
+        }
+    }
+    
+    /**
+     * Evaluate queued changes of one system until none are left.
+     * Only one drain per system runs at a time, so evaluations stay ordered.
+     */
+    private void drainEvents(String systemType) {
+        while (true) {
+            AtomicReference<Set<ConditionInput>> taken = new AtomicReference<>();
+            pendingChanges.compute(systemType, (key, pending) -> {
+                if (pending == null || pending.isEmpty()) {
+                    return null;
+                }
+                taken.set(EnumSet.copyOf(pending));
+                pending.clear();
+                return pending;
+            });
+            if (taken.get() == null) {
+                return;
+            }
+            evaluateChanges(systemType, taken.get());
+        }
+    }
+    
+    private void evaluateChanges(String systemType, Set<ConditionInput> changedInputs) {
+        if (!enabled || !leaderElection.isLeader()) {
+            return;
+        }
+        
+        MDC.put("trigger", changedInputs.contains(ConditionInput.STATE) ? "state_change" : "context_change");
+        long fencingToken = leaderElection.getFencingToken();
         MDC.put("systemType", systemType);
+        MDC.put("fencingToken", String.valueOf(fencingToken));
         
         try {
-            List<PolicyExecutionRecord> results = evaluateWithRetry(systemType);
+            List<PolicyExecutionRecord> results = evaluateWithRetry(systemType, changedInputs, fencingToken);
             
             for (PolicyExecutionRecord record : results) {
                 log.info("[AUDIT] Event-triggered policy '{}' executed for {}: success={}, action={}",
@@ -158,9 +288,14 @@ public class PolicySchedulerService {
                     record.getAction());
             }
             
-            metricsRegistry.incrementCounter("policy.scheduler.event_triggered",
-                "system", systemType, "count", String.valueOf(results.size()));
+            if (!results.isEmpty() || changedInputs.contains(ConditionInput.STATE)) {
+                metricsRegistry.incrementCounter("policy.scheduler.event_triggered",
+                    "system", systemType, "count", String.valueOf(results.size()));
+            }
             
+        } catch (StaleLeaderException e) {
+            log.warn("Leader lease taken over, skipped event-triggered evaluation for {}: {}",
+                systemType, e.getMessage());
         } catch (Exception e) {
             log.error("Event-triggered policy evaluation failed for {}: {}", systemType, e.getMessage());
             failureCount.incrementAndGet();
@@ -171,13 +306,20 @@ public class PolicySchedulerService {
     
     /**
      * Evaluate with retry on failure.
+     * All policies of the system are evaluated when changedInputs is null.
+     * A stale lease term is not retried.
      */
-    private List<PolicyExecutionRecord> evaluateWithRetry(String systemType) {
+    private List<PolicyExecutionRecord> evaluateWithRetry(String systemType, Set<ConditionInput> changedInputs,
+                                                          long fencingToken) {
         Exception lastException = null;
         
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
             try {
-                return policyEvaluator.evaluateForSystem(systemType);
+                return changedInputs == null
+                    ? policyEvaluator.evaluateForSystem(systemType, fencingToken)
+                    : policyEvaluator.evaluateAffected(systemType, changedInputs, fencingToken);
+            } catch (StaleLeaderException e) {
+                throw e;
             } catch (Exception e) {
                 lastException = e;
                 log.warn("Policy evaluation attempt {} failed for {}: {}", attempt, systemType, e.getMessage());
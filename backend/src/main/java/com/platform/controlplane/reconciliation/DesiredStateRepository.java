@@ -5,6 +5,7 @@ import com.platform.controlplane.persistence.entity.DesiredSystemStateEntity;
 import com.platform.controlplane.persistence.repository.DesiredSystemStateJpaRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -37,7 +38,10 @@ public class DesiredStateRepository {
     /**
      * Get desired state for a system.
      * Returns default if not found.
+     * Read-write so it runs on the primary: a desired state missing on a
+     * lagging replica would be overwritten with the default.
      */
+    @Transactional
     public DesiredSystemState get(String systemType) {
         return jpaRepository.findById(systemType)
             .map(entityMappers::toDomain)
@@ -51,7 +55,9 @@ public class DesiredStateRepository {
     
     /**
      * Get all desired states.
+     * Read-write so reconciliation converges on the latest desired states.
      */
+    @Transactional
     public Map<String, DesiredSystemState> getAll() {
         return jpaRepository.findAll().stream()
             .map(entityMappers::toDomain)
@@ -1,8 +1,10 @@
 package com.platform.controlplane.reconciliation;
 
+import com.platform.controlplane.cluster.LeaderElectionService;
 import com.platform.controlplane.connectors.mysql.MySQLConnector;
 import com.platform.controlplane.connectors.redis.RedisConnector;
 import com.platform.controlplane.core.CircuitBreakerManager;
+import com.platform.controlplane.error.StaleLeaderException;
 import com.platform.controlplane.observability.MetricsRegistry;
 import com.platform.controlplane.state.SystemState;
 import com.platform.controlplane.state.SystemStateContext;
@@ -29,6 +31,7 @@ public class ReconciliationEngine {
     private final CircuitBreakerManager circuitBreakerManager;
     private final List<MySQLConnector> mysqlConnectors;
     private final List<RedisConnector> redisConnectors;
+    private final LeaderElectionService leaderElection;
     
     private final List<DriftRecord> driftHistory = new ArrayList<>();
     private final Map<String, Instant> lastReconciliationTime = new ConcurrentHashMap<>();
@@ -42,28 +45,41 @@ public class ReconciliationEngine {
             MetricsRegistry metricsRegistry,
             CircuitBreakerManager circuitBreakerManager,
             List<MySQLConnector> mysqlConnectors,
-            List<RedisConnector> redisConnectors) {
+            List<RedisConnector> redisConnectors,
+            LeaderElectionService leaderElection) {
         this.stateMachine = stateMachine;
         this.desiredStateRepository = desiredStateRepository;
         this.metricsRegistry = metricsRegistry;
         this.circuitBreakerManager = circuitBreakerManager;
         this.mysqlConnectors = mysqlConnectors;
         this.redisConnectors = redisConnectors;
+        this.leaderElection = leaderElection;
     }
     
     /**
-     * Run reconciliation loop every 30 seconds.
+     * Run reconciliation loop every 30 seconds, on the cluster leader only.
      */
     @Scheduled(fixedDelay = 30000, initialDelay = 60000)
     public void reconcile() {
+        if (!leaderElection.isLeader()) {
+            return;
+        }
         log.debug("Starting reconciliation cycle");
+        long fencingToken = leaderElection.getFencingToken();
         
         Map<String, DesiredSystemState> desiredStates = desiredStateRepository.getAll();
         
         for (DesiredSystemState desired : desiredStates.values()) {
+            if (!leaderElection.isLeader()) {
+                log.warn("Lost leadership during reconciliation, stopping cycle");
+                break;
+            }
             try {
                 MDC.put("systemType", desired.systemType());
-                reconcileSystem(desired);
+                reconcileSystem(desired, fencingToken);
+            } catch (StaleLeaderException e) {
+                log.warn("Leader lease taken over during reconciliation, stopping cycle: {}", e.getMessage());
+                break;
             } catch (Exception e) {
                 log.error("Error reconciling {}", desired.systemType(), e);
             } finally {
@@ -72,7 +88,7 @@ public class ReconciliationEngine {
         }
     }
     
-    private void reconcileSystem(DesiredSystemState desired) {
+    private void reconcileSystem(DesiredSystemState desired, long fencingToken) {
         SystemStateContext current = stateMachine.getContext(desired.systemType());
         
         if (current == null) {
@@ -103,7 +119,8 @@ public class ReconciliationEngine {
             return;
         }
         
-        // Execute convergence action
+        // Execute convergence action, unless another instance has taken the lease over
+        leaderElection.checkFencingToken(fencingToken);
         String action = executeConvergence(desired, current, drift);
         
         // Record drift
@@ -238,7 +255,7 @@ public class ReconciliationEngine {
         DesiredSystemState desired = desiredStateRepository.get(systemType);
         MDC.put("systemType", systemType);
         try {
-            reconcileSystem(desired);
+            reconcileSystem(desired, LeaderElectionService.UNFENCED);
             log.info("Manual reconciliation triggered for {}", systemType);
         } finally {
             MDC.clear();
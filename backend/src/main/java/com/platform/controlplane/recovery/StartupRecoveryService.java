@@ -220,7 +220,7 @@ public class StartupRecoveryService {
             MDC.put("experimentId", experimentId);
             MDC.put("systemType", systemType);
             
-            ChaosExperimentEntity entity = experimentRepository.findById(experimentId).orElse(null);
+            ChaosExperimentEntity entity = experimentRepository.findFreshById(experimentId).orElse(null);
             if (entity == null) {
                 log.warn("Experiment {} not found for termination", experimentId);
                 return;
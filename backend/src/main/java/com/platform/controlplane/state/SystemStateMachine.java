@@ -3,23 +3,33 @@ package com.platform.controlplane.state;
 import com.platform.controlplane.connectors.kafka.KafkaEventProducer;
 import com.platform.controlplane.model.FailureEvent;
 import com.platform.controlplane.observability.MetricsRegistry;
+import com.platform.controlplane.policy.ConditionInput;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Central state machine managing all system state transitions.
  * Ensures deterministic, auditable state changes across the control plane.
+ * 
+ * Transitions are serialized per system while different systems transition
+ * concurrently. State change events are queued under the per-system lock and
+ * written to the outbox after it is released, in transition order, so a slow
+ * outbox insert never holds up the next transition.
  */
 @Slf4j
 @Component
 public class SystemStateMachine {
     
     private final Map<String, SystemStateContext> stateContexts = new ConcurrentHashMap<>();
+    private final Map<String, TransitionLock> transitionLocks = new ConcurrentHashMap<>();
     private final KafkaEventProducer kafkaEventProducer;
     private final MetricsRegistry metricsRegistry;
     
@@ -46,6 +56,7 @@ public class SystemStateMachine {
     /**
      * Set policy scheduler (lazy injection to avoid circular dependency).
      */
+    @Autowired
     @Lazy
     public void setPolicyScheduler(com.platform.controlplane.policy.PolicySchedulerService policyScheduler) {
         this.policyScheduler = policyScheduler;
@@ -81,28 +92,37 @@ public class SystemStateMachine {
      * @param reason Explanation for the transition
      * @return Updated context, or existing context if transition was invalid
      */
-    public synchronized SystemStateContext transition(String systemType, SystemState targetState, String reason) {
-        SystemStateContext current = stateContexts.get(systemType);
+    public SystemStateContext transition(String systemType, SystemState targetState, String reason) {
+        TransitionLock lock = transitionLocks.computeIfAbsent(systemType, key -> new TransitionLock());
+        SystemStateContext current;
+        SystemStateContext newContext;
         
-        if (current == null) {
-            log.warn("Attempted transition for uninitialized system: {}", systemType);
-            return initialize(systemType);
-        }
-        
-        // Check if transition is allowed
-        if (!isTransitionAllowed(current.currentState(), targetState)) {
-            log.warn("Invalid state transition rejected: {} -> {} for system: {}", 
-                current.currentState(), targetState, systemType);
-            metricsRegistry.incrementInvalidTransitions(systemType);
-            return current;
+        synchronized (lock) {
+            current = stateContexts.get(systemType);
+            
+            if (current == null) {
+                log.warn("Attempted transition for uninitialized system: {}", systemType);
+                return initialize(systemType);
+            }
+            
+            // Check if transition is allowed
+            if (!isTransitionAllowed(current.currentState(), targetState)) {
+                log.warn("Invalid state transition rejected: {} -> {} for system: {}", 
+                    current.currentState(), targetState, systemType);
+                metricsRegistry.incrementInvalidTransitions(systemType);
+                return current;
+            }
+            
+            // Apply transition atomically, keeping a latency update that raced with it
+            newContext = stateContexts.computeIfPresent(systemType,
+                (key, context) -> context.withState(targetState, reason));
+            
+            // Queued under the lock so events keep the transition order
+            lock.pendingEvents.add(stateChangeEvent(systemType, current.currentState(), targetState, reason));
         }
         
         SystemState previousState = current.currentState();
         
-        // Apply transition
-        SystemStateContext newContext = current.withState(targetState, reason);
-        stateContexts.put(systemType, newContext);
-        
         // Audit log
         log.info("State transition: {} -> {} for {} (reason: {})", 
             previousState, targetState, systemType, reason);
@@ -111,21 +131,25 @@ public class SystemStateMachine {
         metricsRegistry.recordStateTransition(systemType, previousState, targetState);
         
         // Emit Kafka event
-        emitStateChangeEvent(systemType, previousState, targetState, reason);
+        emitPendingEvents(lock);
         
         // Trigger event-driven policy evaluation
-        triggerPolicyEvaluation(systemType, previousState.name(), targetState.name());
+        triggerPolicyEvaluation(systemType, previousState.name(), targetState.name(),
+            ConditionInput.changedBetween(current, newContext));
         
         return newContext;
     }
     
     /**
      * Trigger policy evaluation for a system on state change.
+     * The scheduler only queues the evaluation and reads the latest context
+     * when it runs, so triggers may arrive out of transition order.
      */
-    private void triggerPolicyEvaluation(String systemType, String previousState, String newState) {
+    private void triggerPolicyEvaluation(String systemType, String previousState, String newState,
+                                         Set<ConditionInput> changedInputs) {
         if (policyScheduler != null) {
             try {
-                policyScheduler.onStateChange(systemType, previousState, newState);
+                policyScheduler.onStateChange(systemType, previousState, newState, changedInputs);
             } catch (Exception e) {
                 log.error("Policy evaluation failed for {}: {}", systemType, e.getMessage());
             }
@@ -143,13 +167,23 @@ public class SystemStateMachine {
      * Update latency metric without changing state.
      */
     public SystemStateContext updateLatency(String systemType, long latencyMs) {
-        SystemStateContext current = stateContexts.get(systemType);
-        if (current == null) {
+        long[] previousLatency = new long[1];
+        SystemStateContext updated = stateContexts.computeIfPresent(systemType, (key, current) -> {
+            previousLatency[0] = current.latencyMs();
+            return current.withLatency(latencyMs);
+        });
+        if (updated == null) {
             return initialize(systemType);
         }
         
-        SystemStateContext updated = current.withLatency(latencyMs);
-        stateContexts.put(systemType, updated);
+        // Only latency policies can change outcome; skip the lookup if nothing moved
+        if (policyScheduler != null && latencyMs != previousLatency[0]) {
+            try {
+                policyScheduler.onLatencyChange(systemType);
+            } catch (Exception e) {
+                log.error("Latency policy evaluation failed for {}: {}", systemType, e.getMessage());
+            }
+        }
         return updated;
     }
     
@@ -166,34 +200,58 @@ public class SystemStateMachine {
     }
     
     /**
-     * Emits a Kafka event for state change.
+     * Builds the Kafka event for a state change.
      */
-    private void emitStateChangeEvent(String systemType, SystemState from, SystemState to, String reason) {
-        try {
-            // Determine event type based on state transition
-            FailureEvent.EventType eventType;
-            
-            if (to == SystemState.CIRCUIT_OPEN && from == SystemState.RECOVERING) {
-                eventType = FailureEvent.EventType.CIRCUIT_BREAKER_CLOSED;
-            } else if (to == SystemState.CIRCUIT_OPEN) {
-                eventType = FailureEvent.EventType.CIRCUIT_BREAKER_OPENED;
-            } else if (to == SystemState.CONNECTED) {
-                eventType = FailureEvent.EventType.CONNECTION_ESTABLISHED;
-            } else if (to == SystemState.DISCONNECTED) {
-                eventType = FailureEvent.EventType.CONNECTION_LOST;
-            } else if (to == SystemState.RETRYING) {
-                eventType = FailureEvent.EventType.RETRY_ATTEMPTED;
-            } else {
-                eventType = FailureEvent.EventType.CONNECTION_ESTABLISHED;
+    private FailureEvent stateChangeEvent(String systemType, SystemState from, SystemState to, String reason) {
+        // Determine event type based on state transition
+        FailureEvent.EventType eventType;
+        
+        if (to == SystemState.CIRCUIT_OPEN && from == SystemState.RECOVERING) {
+            eventType = FailureEvent.EventType.CIRCUIT_BREAKER_CLOSED;
+        } else if (to == SystemState.CIRCUIT_OPEN) {
+            eventType = FailureEvent.EventType.CIRCUIT_BREAKER_OPENED;
+        } else if (to == SystemState.CONNECTED) {
+            eventType = FailureEvent.EventType.CONNECTION_ESTABLISHED;
+        } else if (to == SystemState.DISCONNECTED) {
+            eventType = FailureEvent.EventType.CONNECTION_LOST;
+        } else if (to == SystemState.RETRYING) {
+            eventType = FailureEvent.EventType.RETRY_ATTEMPTED;
+        } else {
+            eventType = FailureEvent.EventType.CONNECTION_ESTABLISHED;
+        }
+        
+        return FailureEvent.create(
+            eventType,
+            systemType,
+            String.format("State transition: %s -> %s (reason: %s)", from, to, reason)
+        );
+    }
+    
+    /**
+     * Writes the queued state change events of a system to the outbox.
+     * One thread at a time drains the queue, so events are written in the
+     * order their transitions were applied; a thread finding its event
+     * already written by an earlier drainer returns once that write is done.
+     */
+    private void emitPendingEvents(TransitionLock lock) {
+        synchronized (lock.emitLock) {
+            FailureEvent event;
+            while ((event = lock.pendingEvents.poll()) != null) {
+                try {
+                    kafkaEventProducer.emit(event);
+                } catch (Exception e) {
+                    log.error("Failed to emit state change event for {}", event.system(), e);
+                }
             }
-            
-            kafkaEventProducer.emit(FailureEvent.create(
-                eventType,
-                systemType,
-                String.format("State transition: %s -> %s (reason: %s)", from, to, reason)
-            ));
-        } catch (Exception e) {
-            log.error("Failed to emit state change event for {}", systemType, e);
         }
     }
+    
+    /**
+     * Per-system transition lock with the state change events waiting to be
+     * written to the outbox.
+     */
+    private static final class TransitionLock {
+        private final Queue<FailureEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+        private final Object emitLock = new Object();
+    }
 }
@@ -0,0 +1,10 @@
+-- V10: Live control plane replicas
+-- Every replica heartbeats its row while running. Replicas order the live
+-- members by instance_id and each takes the outbox dispatch shards whose
+-- number modulo the member count equals its position.
+
+CREATE TABLE controlplane_member (
+    instance_id VARCHAR(128) NOT NULL PRIMARY KEY COMMENT 'Replica instance id, as in leader_lease.holder_id',
+    heartbeat_at TIMESTAMP(3) NOT NULL COMMENT 'Last heartbeat, by the database clock',
+    INDEX idx_member_heartbeat (heartbeat_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,11 @@
+-- V11: Version counter of the policy catalog
+-- Incremented in the same transaction as every policy insert, update or
+-- delete. Replicas compare it with the version of their in-memory policy
+-- index and reload the index when it moved.
+
+CREATE TABLE policy_catalog_version (
+    id TINYINT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL COMMENT 'Incremented on every policy change'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO policy_catalog_version (id, version) VALUES (1, 0);
@@ -0,0 +1,8 @@
+-- V6: Add claim token and lease expiry to event_outbox
+-- Lets several dispatcher replicas claim disjoint batches with SELECT ... FOR UPDATE SKIP LOCKED
+
+ALTER TABLE event_outbox
+    ADD COLUMN claim_token VARCHAR(36) NULL COMMENT 'Dispatcher batch currently holding the row',
+    ADD COLUMN lease_expires_at TIMESTAMP(6) NULL COMMENT 'Claim expiry, after which the row may be reclaimed',
+    ADD INDEX idx_outbox_claim_token (claim_token),
+    ADD INDEX idx_outbox_status_lease (status, lease_expires_at);
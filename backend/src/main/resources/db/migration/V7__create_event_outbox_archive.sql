@@ -0,0 +1,28 @@
+-- V7: Partitioned archive for delivered outbox events
+-- Delivered rows are moved here in small chunks so event_outbox stays small.
+-- Daily RANGE partitions on created_at are added ahead of time and dropped
+-- whole once they fall out of retention.
+
+CREATE TABLE event_outbox_archive (
+    id VARCHAR(36) NOT NULL,
+    event_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    system_type VARCHAR(50) NOT NULL,
+    payload JSON NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    retry_count INT NOT NULL DEFAULT 0,
+    created_at DATETIME(6) NOT NULL,
+    delivered_at DATETIME(6) NULL,
+    archived_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    
+    PRIMARY KEY (id, created_at),
+    INDEX idx_outbox_archive_event_id (event_id),
+    INDEX idx_outbox_archive_system_type (system_type, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY RANGE (TO_DAYS(created_at)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- Lets the retention job find the oldest delivered rows without a filesort
+ALTER TABLE event_outbox
+    ADD INDEX idx_outbox_status_delivered (status, delivered_at);
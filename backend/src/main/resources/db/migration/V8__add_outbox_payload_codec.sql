@@ -0,0 +1,16 @@
+-- V8: Store outbox payloads in their wire encoding
+-- Textual codecs (json) keep using the JSON payload column; binary codecs
+-- (cbor) use payload_binary. The dispatcher forwards the stored bytes to
+-- Kafka as-is, with the codec and schema version as record headers.
+
+ALTER TABLE event_outbox
+    MODIFY COLUMN payload JSON NULL,
+    ADD COLUMN payload_binary MEDIUMBLOB NULL COMMENT 'Payload for binary codecs',
+    ADD COLUMN payload_codec VARCHAR(20) NOT NULL DEFAULT 'json' COMMENT 'json, cbor',
+    ADD COLUMN schema_version INT NOT NULL DEFAULT 1 COMMENT 'FailureEvent schema version';
+
+ALTER TABLE event_outbox_archive
+    MODIFY COLUMN payload JSON NULL,
+    ADD COLUMN payload_binary MEDIUMBLOB NULL,
+    ADD COLUMN payload_codec VARCHAR(20) NOT NULL DEFAULT 'json',
+    ADD COLUMN schema_version INT NOT NULL DEFAULT 1;
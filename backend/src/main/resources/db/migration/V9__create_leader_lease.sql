@@ -0,0 +1,12 @@
+-- V9: Leader lease for running cluster-wide singleton work on one replica
+-- The holder renews the lease before it expires; any replica may take it
+-- over once it has expired. Every takeover increments fencing_token, so work
+-- started under an older lease can be recognised and rejected.
+
+CREATE TABLE leader_lease (
+    name VARCHAR(64) NOT NULL PRIMARY KEY COMMENT 'Lease name, one per singleton role',
+    holder_id VARCHAR(128) NOT NULL COMMENT 'Instance currently holding the lease',
+    fencing_token BIGINT NOT NULL COMMENT 'Incremented on every change of holder',
+    expires_at TIMESTAMP(3) NOT NULL COMMENT 'Lease expiry, by the database clock',
+    renewed_at TIMESTAMP(3) NOT NULL COMMENT 'Last successful renewal'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
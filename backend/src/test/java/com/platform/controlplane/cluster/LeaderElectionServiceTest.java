@@ -0,0 +1,66 @@
+package com.platform.controlplane.cluster;
+
+import com.platform.controlplane.error.StaleLeaderException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderElectionServiceTest {
+    
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private LeaderElectionService leaderElection;
+    
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        leaderElection = new LeaderElectionService(jdbcTemplate, mock(ApplicationEventPublisher.class),
+            new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(leaderElection, "enabled", true);
+        ReflectionTestUtils.setField(leaderElection, "leaseName", "controlplane");
+    }
+    
+    @Test
+    void workOfTheCurrentLeaseTermPasses() {
+        leaseAt(7L);
+        
+        assertDoesNotThrow(() -> leaderElection.checkFencingToken(7));
+    }
+    
+    @Test
+    void workOfATermTakenOverByAnotherInstanceIsRejected() {
+        leaseAt(8L);
+        
+        StaleLeaderException e = assertThrows(StaleLeaderException.class,
+            () -> leaderElection.checkFencingToken(7));
+        assertEquals(8, e.getCurrentToken());
+    }
+    
+    @Test
+    void unfencedWorkIsNotChecked() {
+        leaderElection.checkFencingToken(LeaderElectionService.UNFENCED);
+        
+        verify(jdbcTemplate, never()).queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class));
+    }
+    
+    private void leaseAt(long token) {
+        when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+            .thenReturn(List.of(token));
+    }
+}
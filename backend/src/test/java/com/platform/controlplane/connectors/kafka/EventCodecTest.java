@@ -0,0 +1,33 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.platform.controlplane.model.FailureEvent;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventCodecTest {
+    
+    static Stream<EventCodec> codecs() {
+        return Stream.of(
+            // Same defaults as the application ObjectMapper
+            new JsonEventCodec(Jackson2ObjectMapperBuilder.json().build()),
+            new CborEventCodec());
+    }
+    
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void decodeRoundTripsEncode(EventCodec codec) throws Exception {
+        FailureEvent event = FailureEvent.create(
+            FailureEvent.EventType.REDIS_FAILOVER_DETECTED,
+            "redis",
+            "Failover detected: redis-1 -> redis-2",
+            Map.of("oldMaster", "redis-1", "newMaster", "redis-2"));
+        
+        assertEquals(event, codec.decode(codec.encode(event)));
+    }
+}
@@ -0,0 +1,195 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.platform.controlplane.cluster.LeaderElectionService;
+import com.platform.controlplane.contract.ContractRegistry;
+import com.platform.controlplane.observability.MetricsRegistry;
+import com.platform.controlplane.persistence.entity.EventOutboxEntity;
+import com.platform.controlplane.persistence.repository.EventOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class EventDispatcherServiceTest {
+    
+    private EventOutboxRepository outboxRepository;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private LeaderElectionService leaderElection;
+    private OutboxBacklogTracker backlogTracker;
+    private EventDispatcherService dispatcher;
+    
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(EventOutboxRepository.class);
+        when(outboxRepository.markDeliveredByClaim(any(), anyString(), any()))
+            .thenAnswer(call -> call.<List<?>>getArgument(0).size());
+        backlogTracker = mock(OutboxBacklogTracker.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        leaderElection = mock(LeaderElectionService.class);
+        when(leaderElection.ownsShard(anyInt())).thenReturn(true);
+        
+        EventCodecRegistry codecRegistry = mock(EventCodecRegistry.class);
+        EventCodec codec = mock(EventCodec.class);
+        when(codec.contentType()).thenReturn("application/json");
+        when(codecRegistry.forName(anyString())).thenReturn(codec);
+        
+        dispatcher = new EventDispatcherService(
+            outboxRepository,
+            kafkaTemplate,
+            codecRegistry,
+            mock(MetricsRegistry.class),
+            new SimpleMeterRegistry(),
+            backlogTracker,
+            mock(ContractRegistry.class),
+            leaderElection);
+        
+        ReflectionTestUtils.setField(dispatcher, "eventTopic", "controlplane-events");
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "batchClaimEnabled", true);
+        ReflectionTestUtils.setField(dispatcher, "workerCount", 1);
+        ReflectionTestUtils.setField(dispatcher, "shardCount", 8);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(dispatcher, "maxRetries", 5);
+        ReflectionTestUtils.setField(dispatcher, "maxInFlight", 50);
+        ReflectionTestUtils.setField(dispatcher, "sendTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 120L);
+        ReflectionTestUtils.setField(dispatcher, "baseBackoffMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 300000L);
+        ReflectionTestUtils.setField(dispatcher, "maxPollIntervalMs", 5000L);
+        dispatcher.init();
+    }
+    
+    @Test
+    void sendsOfOneSystemArePipelinedUpToTheWindow() throws Exception {
+        ReflectionTestUtils.setField(dispatcher, "maxInFlight", 2);
+        claim(event("e1", "mysql"), event("e2", "mysql"), event("e3", "mysql"));
+        
+        CompletableFuture<SendResult<String, byte[]>> firstAck = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, byte[]>> secondAck = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, byte[]>> thirdAck = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyRecord())).thenReturn(firstAck, secondAck, thirdAck);
+        
+        CompletableFuture<Integer> cycle = CompletableFuture.supplyAsync(dispatcher::dispatchPendingEvents);
+        
+        // Two sends of the same key are outstanding at once; the third waits for a slot
+        verify(kafkaTemplate, timeout(1000).times(2)).send(anyRecord());
+        verify(kafkaTemplate, after(300).times(2)).send(anyRecord());
+        
+        firstAck.complete(null);
+        verify(kafkaTemplate, timeout(1000).times(3)).send(anyRecord());
+        secondAck.complete(null);
+        thirdAck.complete(null);
+        assertEquals(3, cycle.get(5, TimeUnit.SECONDS));
+        
+        verify(outboxRepository).markDeliveredByClaim(eq(List.of("e1", "e2", "e3")), anyString(), any());
+        verify(backlogTracker).onDelivered(3);
+    }
+    
+    @Test
+    void laterEventsOfAFailedSystemAreReleasedBehindTheRetry() throws Exception {
+        claim(event("e1", "mysql"), event("e2", "redis"), event("e3", "mysql"), event("e4", "mysql"));
+        
+        CompletableFuture<SendResult<String, byte[]>> firstAck = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, byte[]>> redisAck = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, byte[]>> thirdAck = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, byte[]>> fourthAck = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyRecord())).thenReturn(firstAck, redisAck, thirdAck, fourthAck);
+        
+        CompletableFuture<Integer> cycle = CompletableFuture.supplyAsync(dispatcher::dispatchPendingEvents);
+        verify(kafkaTemplate, timeout(1000).times(4)).send(anyRecord());
+        
+        // Callbacks of one key complete in send order: the failure first, then the later records
+        firstAck.completeExceptionally(new RuntimeException("NotEnoughReplicas"));
+        thirdAck.complete(null);
+        fourthAck.completeExceptionally(new RuntimeException("NotEnoughReplicas"));
+        redisAck.complete(null);
+        assertEquals(4, cycle.get(5, TimeUnit.SECONDS));
+        
+        verify(outboxRepository).markDeliveredByClaim(eq(List.of("e2")), anyString(), any());
+        verify(outboxRepository).scheduleRetryByClaim(eq(List.of("e1")), anyString(), any(), anyString(), any());
+        verify(outboxRepository).releaseByClaim(eq(List.of("e3", "e4")), anyString(), any(), any());
+        verify(backlogTracker).onDelivered(1);
+    }
+    
+    @Test
+    void claimsOnlyTheGlobalShardsOwnedByThisReplica() {
+        when(leaderElection.ownsShard(anyInt())).thenAnswer(call -> (int) call.getArgument(0) % 2 == 1);
+        claim();
+        
+        dispatcher.dispatchPendingEvents();
+        
+        verify(outboxRepository).claimBatch(anyString(), any(), any(), anyInt(), eq(8), eq(List.of(1, 3, 5, 7)));
+    }
+    
+    @Test
+    void takenOverShardIsNotDrainedWhileAnotherClaimInItIsLeased() {
+        when(leaderElection.ownsShard(anyInt())).thenAnswer(call -> (int) call.getArgument(0) == 3);
+        when(outboxRepository.countActiveClaimsInShard(any(), eq(8), eq(3))).thenReturn(1L, 0L);
+        claim();
+        
+        dispatcher.dispatchPendingEvents();
+        verify(outboxRepository, never()).claimBatch(anyString(), any(), any(), anyInt(), anyInt(), anyList());
+        
+        dispatcher.dispatchPendingEvents();
+        verify(outboxRepository).claimBatch(anyString(), any(), any(), anyInt(), eq(8), eq(List.of(3)));
+        
+        dispatcher.dispatchPendingEvents();
+        verify(outboxRepository, times(2)).countActiveClaimsInShard(any(), eq(8), eq(3));
+    }
+    
+    @Test
+    void takenOverShardIsNotDrainedWithinTheTakeoverGracePeriod() {
+        when(leaderElection.getTakeoverGraceMs()).thenReturn(60_000L);
+        claim();
+        
+        dispatcher.dispatchPendingEvents();
+        
+        verify(outboxRepository, never()).claimBatch(anyString(), any(), any(), anyInt(), anyInt(), anyList());
+    }
+    
+    private static ProducerRecord<String, byte[]> anyRecord() {
+        return any();
+    }
+    
+    private void claim(EventOutboxEntity... events) {
+        when(outboxRepository.claimBatch(anyString(), any(), any(), anyInt(), anyInt(), anyList()))
+            .thenReturn(List.of(events));
+    }
+    
+    private static EventOutboxEntity event(String id, String systemType) {
+        Instant now = Instant.now();
+        return EventOutboxEntity.builder()
+            .id(id)
+            .eventId(id)
+            .eventType("CONNECTION_LOST")
+            .systemType(systemType)
+            .payload("{}")
+            .nextRetryAt(now)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.platform.controlplane.connectors.kafka;
+
+import com.platform.controlplane.contract.ContractRegistry;
+import com.platform.controlplane.model.FailureEvent;
+import com.platform.controlplane.observability.MetricsRegistry;
+import com.platform.controlplane.persistence.repository.EventOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaEventProducerTest {
+    
+    private EventOutboxRepository outboxRepository;
+    private RecentEventIdFilter recentEventIds;
+    private ApplicationEventPublisher eventPublisher;
+    private OutboxBacklogTracker backlogTracker;
+    private JdbcTemplate jdbcTemplate;
+    private KafkaEventProducer producer;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        outboxRepository = mock(EventOutboxRepository.class);
+        recentEventIds = mock(RecentEventIdFilter.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        backlogTracker = mock(OutboxBacklogTracker.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        
+        EventCodec codec = mock(EventCodec.class);
+        when(codec.name()).thenReturn("json");
+        when(codec.isTextual()).thenReturn(true);
+        when(codec.encode(any())).thenReturn("{}".getBytes(StandardCharsets.UTF_8));
+        EventCodecRegistry codecRegistry = mock(EventCodecRegistry.class);
+        when(codecRegistry.active()).thenReturn(codec);
+        
+        producer = new KafkaEventProducer(
+            outboxRepository,
+            codecRegistry,
+            mock(MetricsRegistry.class),
+            mock(ContractRegistry.class),
+            eventPublisher,
+            recentEventIds,
+            mock(OutboxGroupCommitWriter.class),
+            backlogTracker,
+            jdbcTemplate);
+    }
+    
+    @Test
+    void emittingTheSameEventIdTwiceSucceedsWithoutException() {
+        FailureEvent event = FailureEvent.create(FailureEvent.EventType.CONNECTION_LOST, "mysql", "lost");
+        
+        // Second emit: the filter reports a possible hit but the row is not visible
+        // yet, so the insert itself has to detect the duplicate
+        when(recentEventIds.mightContain(event.eventId())).thenReturn(false, true);
+        when(outboxRepository.existsByEventId(event.eventId())).thenReturn(false);
+        when(jdbcTemplate.update(eq(OutboxInsertStatement.UPSERT_SQL), any(PreparedStatementSetter.class)))
+            .thenReturn(1, 0);
+        
+        assertTrue(producer.emit(event).join());
+        assertTrue(producer.emit(event).join());
+        
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+        verify(backlogTracker, times(1)).onInserted(1);
+        verify(eventPublisher, times(1)).publishEvent(any(OutboxEventQueued.class));
+    }
+}
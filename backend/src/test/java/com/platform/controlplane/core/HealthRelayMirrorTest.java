@@ -0,0 +1,166 @@
+package com.platform.controlplane.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.controlplane.cluster.LeaderElectionService;
+import com.platform.controlplane.connectors.kafka.KafkaEventProducer;
+import com.platform.controlplane.connectors.mysql.MySQLConnector;
+import com.platform.controlplane.connectors.redis.RedisConnector;
+import com.platform.controlplane.model.ConnectionStatus;
+import com.platform.controlplane.model.HealthUpdate;
+import com.platform.controlplane.model.SystemHealth;
+import com.platform.controlplane.model.TopologyInfo;
+import com.platform.controlplane.observability.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Relay mode with two replicas on one in-memory broker: the leader probes
+ * and publishes, the follower only mirrors.
+ */
+class HealthRelayMirrorTest {
+    
+    private final ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+    private final ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+    private final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+    private final List<Message<?>> browserFrames = new CopyOnWriteArrayList<>();
+    
+    private SimpleBrokerMessageHandler broker;
+    private MappingJackson2MessageConverter converter;
+    private HealthStreamPublisher leaderPublisher;
+    private HealthStreamPublisher followerPublisher;
+    private HealthRelayMirror followerMirror;
+    
+    @BeforeEach
+    void setUp() {
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic"));
+        broker.start();
+        
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        messagingTemplate.setMessageConverter(converter);
+        
+        leaderPublisher = new HealthStreamPublisher(messagingTemplate, mock(MetricsRegistry.class),
+            leaderElection(true), "relay");
+        followerPublisher = new HealthStreamPublisher(messagingTemplate, mock(MetricsRegistry.class),
+            leaderElection(false), "relay");
+        followerMirror = new HealthRelayMirror(followerPublisher, objectMapper, mock(TaskScheduler.class));
+        
+        // The follower's mirror connection and a browser tab served by the follower
+        clientOutbound.subscribe(message -> {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+                return;
+            }
+            if ("follower-mirror".equals(sessionId)) {
+                StompHeaders headers = new StompHeaders();
+                followerMirror.handleFrame(headers,
+                    converter.fromMessage(message, (Class<?>) followerMirror.getPayloadType(headers)));
+            } else if ("browser".equals(sessionId)) {
+                browserFrames.add(message);
+            }
+        });
+        subscribe("follower-mirror", HealthStreamPublisher.HEALTH_MIRROR_TOPIC);
+        subscribe("browser", HealthStreamPublisher.HEALTH_TOPIC);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        broker.stop();
+    }
+    
+    @Test
+    void followerSkipsProbingAndServesTheLeadersHealth() {
+        MySQLConnector mysqlConnector = mock(MySQLConnector.class);
+        RedisConnector redisConnector = mock(RedisConnector.class);
+        KafkaEventProducer kafkaProducer = mock(KafkaEventProducer.class);
+        TopologyDetector topologyDetector = mock(TopologyDetector.class);
+        OrchestratorService follower = new OrchestratorService(mysqlConnector, redisConnector, kafkaProducer,
+            topologyDetector, mock(MetricsRegistry.class), mock(SimpMessagingTemplate.class), followerPublisher,
+            leaderElection(false), mock(HealthCheckCadence.class));
+        
+        follower.performHealthCheck();
+        follower.refreshTopologies();
+        
+        verifyNoInteractions(mysqlConnector, redisConnector, kafkaProducer, topologyDetector);
+        assertNull(follower.getSystemHealth());
+        
+        SystemHealth healthy = health(ConnectionStatus.up("mysql", 3, 1, 100));
+        SystemHealth mysqlDown = health(ConnectionStatus.down("mysql", "Connection refused"));
+        leaderPublisher.publish(healthy);
+        leaderPublisher.publish(mysqlDown);
+        
+        assertEquals(mysqlDown, follower.getSystemHealth());
+        assertEquals(2, followerPublisher.snapshot().sequence());
+    }
+    
+    @Test
+    void followerClientsReceiveTheLeadersDeltas() {
+        leaderPublisher.publish(health(ConnectionStatus.up("mysql", 3, 1, 100)));
+        leaderPublisher.publish(health(ConnectionStatus.down("mysql", "Connection refused")));
+        
+        assertEquals(1, browserFrames.size());
+        HealthUpdate delta = (HealthUpdate) converter.fromMessage(browserFrames.get(0), HealthUpdate.class);
+        assertEquals(HealthUpdate.Type.DELTA, delta.type());
+        assertEquals(2, delta.sequence());
+        assertTrue(delta.patch().stream().anyMatch(op -> op.path().equals("/connectionStatuses/mysql")));
+        
+        // A follower that becomes leader continues the same sequence
+        assertEquals(delta.sequence(), followerPublisher.snapshot().sequence());
+    }
+    
+    private void subscribe(String sessionId, String destination) {
+        SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        connect.setSessionId(sessionId);
+        clientInbound.send(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+        
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        clientInbound.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+    
+    private static LeaderElectionService leaderElection(boolean leader) {
+        LeaderElectionService leaderElection = mock(LeaderElectionService.class);
+        when(leaderElection.isLeader()).thenReturn(leader);
+        return leaderElection;
+    }
+    
+    private static SystemHealth health(ConnectionStatus mysqlStatus) {
+        return new SystemHealth(
+            mysqlStatus.status() == ConnectionStatus.Status.UP
+                ? SystemHealth.OverallStatus.HEALTHY : SystemHealth.OverallStatus.DEGRADED,
+            Map.of("mysql", mysqlStatus,
+                "redis", ConnectionStatus.up("redis", 1, 1, 50),
+                "kafka", ConnectionStatus.up("kafka", 0, 1, 100)),
+            Map.of("mysql", TopologyInfo.unknown("mysql"),
+                "redis", TopologyInfo.unknown("redis"),
+                "kafka", TopologyInfo.unknown("kafka")),
+            mysqlStatus.lastChecked());
+    }
+}
@@ -0,0 +1,74 @@
+package com.platform.controlplane.state;
+
+import com.platform.controlplane.connectors.kafka.KafkaEventProducer;
+import com.platform.controlplane.model.FailureEvent;
+import com.platform.controlplane.observability.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SystemStateMachineTest {
+    
+    private KafkaEventProducer kafkaEventProducer;
+    private SystemStateMachine stateMachine;
+    
+    @BeforeEach
+    void setUp() {
+        kafkaEventProducer = mock(KafkaEventProducer.class);
+        stateMachine = new SystemStateMachine(kafkaEventProducer, mock(MetricsRegistry.class));
+        stateMachine.initialize("mysql");
+    }
+    
+    @Test
+    void slowOutboxWriteDoesNotBlockTheNextTransition() throws Exception {
+        CountDownLatch firstEmitStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstEmit = new CountDownLatch(1);
+        when(kafkaEventProducer.emit(any())).thenAnswer(call -> {
+            if (firstEmitStarted.getCount() > 0) {
+                firstEmitStarted.countDown();
+                releaseFirstEmit.await(5, TimeUnit.SECONDS);
+            }
+            return CompletableFuture.completedFuture(true);
+        });
+        
+        CompletableFuture<SystemStateContext> first = CompletableFuture.supplyAsync(
+            () -> stateMachine.transition("mysql", SystemState.CONNECTING, "start"));
+        assertTrue(firstEmitStarted.await(5, TimeUnit.SECONDS));
+        
+        CompletableFuture<SystemStateContext> second = CompletableFuture.supplyAsync(
+            () -> stateMachine.transition("mysql", SystemState.CONNECTED, "probe ok"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (stateMachine.getContext("mysql").currentState() != SystemState.CONNECTED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        
+        // Applied while the first event is still being written
+        assertEquals(SystemState.CONNECTED, stateMachine.getContext("mysql").currentState());
+        assertFalse(first.isDone());
+        
+        releaseFirstEmit.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        
+        ArgumentCaptor<FailureEvent> events = ArgumentCaptor.forClass(FailureEvent.class);
+        verify(kafkaEventProducer, times(2)).emit(events.capture());
+        assertEquals(List.of("State transition: INIT -> CONNECTING (reason: start)",
+                "State transition: CONNECTING -> CONNECTED (reason: probe ok)"),
+            events.getAllValues().stream().map(FailureEvent::message).toList());
+    }
+}
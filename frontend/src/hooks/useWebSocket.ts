@@ -1,7 +1,7 @@
 import { useEffect, useRef, useState, useCallback } from 'react';
 import { Client, IMessage } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
-import { SystemHealth, FailureEvent } from '../types';
+import { SystemHealth, FailureEvent, HealthUpdate, HealthPatchOperation } from '../types';
 
 const WS_URL = import.meta.env.VITE_WS_URL || '/ws';
 
@@ -14,11 +14,31 @@ interface UseWebSocketReturn {
     requestRefresh: () => void;
 }
 
+// Apply replace operations such as /connectionStatuses/mysql to a health object
+function applyHealthPatch(health: SystemHealth, patch: HealthPatchOperation[]): SystemHealth {
+    const next: SystemHealth = {
+        ...health,
+        connectionStatuses: { ...health.connectionStatuses },
+        topologies: { ...health.topologies },
+    };
+    for (const operation of patch) {
+        const [section, key] = operation.path.split('/').slice(1);
+        if (key === undefined) {
+            (next as unknown as Record<string, unknown>)[section] = operation.value;
+        } else {
+            (next as unknown as Record<string, Record<string, unknown>>)[section][key] = operation.value;
+        }
+    }
+    return next;
+}
+
 export function useWebSocket(): UseWebSocketReturn {
     const [isConnected, setIsConnected] = useState(false);
     const [health, setHealth] = useState<SystemHealth | null>(null);
     const [events, setEvents] = useState<FailureEvent[]>([]);
     const clientRef = useRef<Client | null>(null);
+    const healthRef = useRef<SystemHealth | null>(null);
+    const sequenceRef = useRef<number | null>(null);
 
     const connect = useCallback(() => {
         if (clientRef.current?.connected) return;
@@ -39,11 +59,44 @@ export function useWebSocket(): UseWebSocketReturn {
             console.log('WebSocket connected');
             setIsConnected(true);
 
-            // Subscribe to health updates
+            const applySnapshot = (message: IMessage) => {
+                try {
+                    const update = JSON.parse(message.body) as HealthUpdate;
+                    sequenceRef.current = update.sequence;
+                    healthRef.current = update.snapshot;
+                    setHealth(update.snapshot);
+                } catch (e) {
+                    console.error('Failed to parse health snapshot:', e);
+                }
+            };
+
+            // Full snapshot, delivered once per subscription; also used to resync
+            const requestSnapshot = () => {
+                sequenceRef.current = null;
+                const subscription = client.subscribe('/app/health/snapshot', (message: IMessage) => {
+                    subscription.unsubscribe();
+                    applySnapshot(message);
+                });
+            };
+
+            // Snapshots sent to this session only, in reply to /app/health
+            client.subscribe('/user/queue/health', applySnapshot);
+
+            // Subscribe to health deltas
             client.subscribe('/topic/health', (message: IMessage) => {
                 try {
-                    const healthData = JSON.parse(message.body) as SystemHealth;
-                    setHealth(healthData);
+                    const update = JSON.parse(message.body) as HealthUpdate;
+                    if (sequenceRef.current === null || update.sequence <= sequenceRef.current) {
+                        return; // Snapshot still pending, or already included in it
+                    }
+                    if (update.baseSequence !== sequenceRef.current || healthRef.current === null) {
+                        console.warn('Health stream gap, resyncing');
+                        requestSnapshot();
+                        return;
+                    }
+                    healthRef.current = applyHealthPatch(healthRef.current, update.patch);
+                    sequenceRef.current = update.sequence;
+                    setHealth(healthRef.current);
                 } catch (e) {
                     console.error('Failed to parse health message:', e);
                 }
@@ -60,10 +113,7 @@ export function useWebSocket(): UseWebSocketReturn {
             });
 
             // Request initial health status
-            client.publish({
-                destination: '/app/health',
-                body: '',
-            });
+            requestSnapshot();
         };
 
         client.onDisconnect = () => {
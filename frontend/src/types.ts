@@ -38,6 +38,20 @@ export interface SystemHealth {
     lastUpdated: string;
 }
 
+export interface HealthPatchOperation {
+    op: 'replace';
+    path: string;
+    value: unknown;
+}
+
+export interface HealthUpdate {
+    type: 'SNAPSHOT' | 'DELTA';
+    sequence: number;
+    baseSequence: number;
+    snapshot: SystemHealth | null;
+    patch: HealthPatchOperation[];
+}
+
 export interface CircuitBreakerStatus {
     state: 'OPEN' | 'CLOSED' | 'HALF_OPEN' | 'UNKNOWN';
     successfulCalls: number;